@@ -0,0 +1,75 @@
+package com.github.swierkosz.fixture.generator.benchmarks;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.reflection.ClassInspector;
+import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reflection performed by ClassInspector, both on first inspection of a type and on cached lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassInspectorBenchmark {
+
+    private static final TypeInformation WIDE_FLAT_POJO = new TypeInformationImpl(Shapes.WideFlatPojo.class);
+    private static final TypeInformation GENERIC_HEAVY = new TypeInformationImpl(Shapes.GenericHeavy.class);
+
+    private final ClassInspector classInspector = new ClassInspector();
+
+    @Benchmark
+    public void inspectWideFlatPojo(Blackhole blackhole) {
+        ClassInspector coldClassInspector = new ClassInspector();
+        blackhole.consume(coldClassInspector.listFieldsFor(WIDE_FLAT_POJO));
+        blackhole.consume(coldClassInspector.listConstructorsFor(WIDE_FLAT_POJO));
+    }
+
+    @Benchmark
+    public void inspectGenericHeavy(Blackhole blackhole) {
+        ClassInspector coldClassInspector = new ClassInspector();
+        blackhole.consume(coldClassInspector.listFieldsFor(GENERIC_HEAVY));
+        blackhole.consume(coldClassInspector.listConstructorsFor(GENERIC_HEAVY));
+    }
+
+    @Benchmark
+    public void cachedWideFlatPojo(Blackhole blackhole) {
+        blackhole.consume(classInspector.listFieldsFor(WIDE_FLAT_POJO));
+        blackhole.consume(classInspector.listConstructorsFor(WIDE_FLAT_POJO));
+    }
+
+    @Benchmark
+    public void cachedGenericHeavy(Blackhole blackhole) {
+        blackhole.consume(classInspector.listFieldsFor(GENERIC_HEAVY));
+        blackhole.consume(classInspector.listConstructorsFor(GENERIC_HEAVY));
+    }
+}
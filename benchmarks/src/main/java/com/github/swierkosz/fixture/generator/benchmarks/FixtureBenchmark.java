@@ -0,0 +1,63 @@
+package com.github.swierkosz.fixture.generator.benchmarks;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end generation of representative fixture shapes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureBenchmark {
+
+    private final FixtureGenerator fixtureGenerator = new FixtureGenerator().freeze();
+
+    @Benchmark
+    public Object wideFlatPojo() {
+        return fixtureGenerator.createDeterministic(Shapes.WideFlatPojo.class);
+    }
+
+    @Benchmark
+    public Object deepNesting() {
+        return fixtureGenerator.createDeterministic(Shapes.DeepNesting.class);
+    }
+
+    @Benchmark
+    public Object genericHeavy() {
+        return fixtureGenerator.createDeterministic(Shapes.GenericHeavy.class);
+    }
+
+    @Benchmark
+    public Object collectionHeavy() {
+        return fixtureGenerator.createDeterministic(Shapes.CollectionHeavy.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.swierkosz.fixture.generator.benchmarks;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each built-in value generator in isolation, by generating a holder with a single field of a given kind.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"STRING", "FAST_STRING", "INTEGER", "BIG_DECIMAL", "BOOLEAN", "CHARACTER", "ENUM", "UUID",
+            "LOCAL_DATE_TIME", "ZONED_DATE_TIME", "OPTIONAL", "ARRAY", "PRIMITIVE_ARRAY", "COLLECTION", "MAP"})
+    public Kind kind;
+
+    private FixtureGenerator fixtureGenerator;
+
+    @Setup
+    public void setUp() {
+        fixtureGenerator = new FixtureGenerator()
+                .configure()
+                .fastStrings(kind == Kind.FAST_STRING)
+                .freeze();
+    }
+
+    @Benchmark
+    public Object generate() {
+        return fixtureGenerator.createDeterministic(kind.holder);
+    }
+
+    public enum Kind {
+        STRING(StringHolder.class),
+        FAST_STRING(StringHolder.class),
+        INTEGER(IntegerHolder.class),
+        BIG_DECIMAL(BigDecimalHolder.class),
+        BOOLEAN(BooleanHolder.class),
+        CHARACTER(CharacterHolder.class),
+        ENUM(EnumHolder.class),
+        UUID(UUIDHolder.class),
+        LOCAL_DATE_TIME(LocalDateTimeHolder.class),
+        ZONED_DATE_TIME(ZonedDateTimeHolder.class),
+        OPTIONAL(OptionalHolder.class),
+        ARRAY(ArrayHolder.class),
+        PRIMITIVE_ARRAY(PrimitiveArrayHolder.class),
+        COLLECTION(CollectionHolder.class),
+        MAP(MapHolder.class);
+
+        private final Class<?> holder;
+
+        Kind(Class<?> holder) {
+            this.holder = holder;
+        }
+    }
+
+    static class StringHolder {
+        String value;
+    }
+
+    static class IntegerHolder {
+        int value;
+    }
+
+    static class BigDecimalHolder {
+        BigDecimal value;
+    }
+
+    static class BooleanHolder {
+        boolean value;
+    }
+
+    static class CharacterHolder {
+        char value;
+    }
+
+    static class EnumHolder {
+        Shapes.Status value;
+    }
+
+    static class UUIDHolder {
+        UUID value;
+    }
+
+    static class LocalDateTimeHolder {
+        LocalDateTime value;
+    }
+
+    static class ZonedDateTimeHolder {
+        ZonedDateTime value;
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    static class OptionalHolder {
+        Optional<String> value;
+    }
+
+    static class ArrayHolder {
+        Integer[] value;
+    }
+
+    static class PrimitiveArrayHolder {
+        int[] value;
+    }
+
+    static class CollectionHolder {
+        List<Integer> value;
+    }
+
+    static class MapHolder {
+        Map<String, Integer> value;
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.swierkosz.fixture.generator.benchmarks;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Representative shapes of fixtures used by benchmarks.
+ */
+@SuppressWarnings("unused")
+final class Shapes {
+
+    private Shapes() {
+        // Holder class
+    }
+
+    static class WideFlatPojo {
+        int int1;
+        int int2;
+        int int3;
+        int int4;
+        long long1;
+        long long2;
+        long long3;
+        long long4;
+        double double1;
+        double double2;
+        double double3;
+        double double4;
+        boolean boolean1;
+        boolean boolean2;
+        char char1;
+        char char2;
+        Integer boxedInt1;
+        Integer boxedInt2;
+        Long boxedLong1;
+        Long boxedLong2;
+        String string1;
+        String string2;
+        String string3;
+        String string4;
+        String string5;
+        String string6;
+        BigDecimal decimal1;
+        BigDecimal decimal2;
+        UUID uuid1;
+        UUID uuid2;
+        LocalDate date1;
+        Instant instant1;
+    }
+
+    static class DeepNesting {
+        String name;
+        Level1 next;
+    }
+
+    static class Level1 {
+        String name;
+        Level2 next;
+    }
+
+    static class Level2 {
+        String name;
+        Level3 next;
+    }
+
+    static class Level3 {
+        String name;
+        Level4 next;
+    }
+
+    static class Level4 {
+        String name;
+        Level5 next;
+    }
+
+    static class Level5 {
+        String name;
+        Level6 next;
+    }
+
+    static class Level6 {
+        String name;
+        Level7 next;
+    }
+
+    static class Level7 {
+        String name;
+        long value;
+    }
+
+    static class GenericHeavy extends GenericBase<String, Integer> {
+        Map<String, List<Pair<Integer, Set<String>>>> index;
+        Pair<Pair<String, Long>, Optional<UUID>> nested;
+    }
+
+    static class GenericBase<K, V> {
+        K key;
+        V value;
+        Map<K, List<V>> multiMap;
+        Pair<K, V>[] pairs;
+    }
+
+    static class Pair<L, R> {
+        L left;
+        R right;
+    }
+
+    static class CollectionHeavy {
+        List<Order> orders;
+        Map<String, Customer> customers;
+        Set<String> tags;
+    }
+
+    static class Order {
+        UUID id;
+        Customer customer;
+        List<OrderLine> lines;
+        Instant createdAt;
+    }
+
+    static class OrderLine {
+        String product;
+        int quantity;
+        BigDecimal price;
+    }
+
+    static class Customer {
+        String name;
+        String email;
+        List<String> addresses;
+        Status status;
+    }
+
+    enum Status {
+        ACTIVE, SUSPENDED, CLOSED
+    }
+
+}
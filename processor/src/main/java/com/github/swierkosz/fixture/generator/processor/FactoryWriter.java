@@ -0,0 +1,356 @@
+package com.github.swierkosz.fixture.generator.processor;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes source of a FixtureFactory for a single class. The factory generates values in the same order and
+ * with the same names as ConstructingValueGenerator, so seeds of values are derived in the same way:
+ * <ul>
+ * <li>constructors are tried from the one with the fewest parameters, in declaration order, until one of them
+ * succeeds; their arguments are named after their parameters;</li>
+ * <li>non-static fields of the class and then of its superclasses are assigned in declaration order,
+ * directly or using setters if the fields are not accessible.</li>
+ * </ul>
+ * Private constructors and final fields are accessed using reflection, like ConstructingValueGenerator does.
+ * Values are equal to the ones created using reflection, provided that the class is compiled with parameter names.
+ */
+final class FactoryWriter {
+
+    private static final String FACTORY_SUFFIX = "_FixtureFactory";
+    private static final String INDENT = "        ";
+
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement type;
+    private final String packageName;
+    private final String factorySimpleName;
+    private final Map<String, String> typeConstants = new LinkedHashMap<>();
+    private final Map<String, String> memberConstants = new LinkedHashMap<>();
+    private boolean throwsCheckedExceptions;
+
+    FactoryWriter(ProcessingEnvironment processingEnv, TypeElement type) {
+        this.types = processingEnv.getTypeUtils();
+        this.elements = processingEnv.getElementUtils();
+        this.type = type;
+        this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String qualifiedName = type.getQualifiedName().toString();
+        String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        this.factorySimpleName = nestedName.replace('.', '_') + FACTORY_SUFFIX;
+    }
+
+    String getFactoryName() {
+        return packageName.isEmpty() ? factorySimpleName : packageName + "." + factorySimpleName;
+    }
+
+    String write() {
+        validateType();
+        String target = type.getQualifiedName().toString();
+        DeclaredType declaredType = (DeclaredType) type.asType();
+
+        StringBuilder body = new StringBuilder();
+        body.append(INDENT).append(target).append(" result = null;\n");
+        for (ExecutableElement constructor : sortConstructors()) {
+            body.append(INDENT).append("if (result == null) {\n")
+                    .append(INDENT).append("    try {\n")
+                    .append(INDENT).append("        result = ").append(construct(declaredType, constructor)).append(";\n")
+                    .append(INDENT).append("    } catch (Exception e) {\n")
+                    .append(INDENT).append("        // Fall back to the next constructor, as ConstructingValueGenerator does\n")
+                    .append(INDENT).append("    }\n")
+                    .append(INDENT).append("}\n");
+        }
+        body.append(INDENT).append("if (result == null) {\n")
+                .append(INDENT).append("    return NO_VALUE;\n")
+                .append(INDENT).append("}\n");
+
+        Set<String> assignedNames = new HashSet<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC)) {
+                    continue;
+                }
+                boolean shadowing = !assignedNames.add(field.getSimpleName().toString());
+                body.append(INDENT).append(assignField(declaredType, current, field, shadowing)).append(";\n");
+            }
+            current = superclassOf(current);
+        }
+        body.append(INDENT).append("return result;\n");
+
+        return writeClass(target, body);
+    }
+
+    private String writeClass(String target, StringBuilder body) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import com.github.swierkosz.fixture.generator.FixtureFactory;\n");
+        if (throwsCheckedExceptions) {
+            source.append("import com.github.swierkosz.fixture.generator.FixtureGenerationException;\n");
+        }
+        source.append("import com.github.swierkosz.fixture.generator.TypeInformation;\n")
+                .append("import com.github.swierkosz.fixture.generator.ValueContext;\n")
+                .append("import com.github.swierkosz.fixture.generator.reflection.TypeInterner;\n\n")
+                .append("/**\n")
+                .append(" * Fixture factory for {@link ").append(target).append("}, generated by FixtureFactoryProcessor.\n")
+                .append(" */\n")
+                .append("public final class ").append(factorySimpleName).append(" implements FixtureFactory {\n\n");
+        for (Map.Entry<String, String> constant : typeConstants.entrySet()) {
+            source.append("    private static final TypeInformation ").append(constant.getValue())
+                    .append(" = ").append(constant.getKey()).append(";\n");
+        }
+        for (Map.Entry<String, String> constant : memberConstants.entrySet()) {
+            int separator = constant.getKey().indexOf(' ');
+            source.append("    private static final ").append(constant.getKey(), 0, separator)
+                    .append(' ').append(constant.getValue())
+                    .append(" = ").append(constant.getKey().substring(separator + 1)).append(";\n");
+        }
+        if (!typeConstants.isEmpty() || !memberConstants.isEmpty()) {
+            source.append('\n');
+        }
+        source.append("    @Override\n")
+                .append("    public Class<?> getTargetType() {\n")
+                .append("        return ").append(target).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public Object generateValue(ValueContext valueContext) {\n");
+        if (throwsCheckedExceptions) {
+            source.append("        try {\n")
+                    .append(body.toString().replaceAll("(?m)^", "    "))
+                    .append("        } catch (RuntimeException e) {\n")
+                    .append("            throw e;\n")
+                    .append("        } catch (Exception e) {\n")
+                    .append("            throw new FixtureGenerationException(\"Exception was thrown during construction of: \" + ")
+                    .append(target).append(".class, e);\n")
+                    .append("        }\n");
+        } else {
+            source.append(body);
+        }
+        source.append("    }\n");
+        if (!memberConstants.isEmpty()) {
+            writeReflectionHelpers(source);
+        }
+        source.append("\n}\n");
+        return source.toString();
+    }
+
+    private void writeReflectionHelpers(StringBuilder source) {
+        source.append("\n")
+                .append("    private static java.lang.reflect.Constructor<?> constructor(Class<?> type, Class<?>... parameterTypes) {\n")
+                .append("        try {\n")
+                .append("            java.lang.reflect.Constructor<?> result = type.getDeclaredConstructor(parameterTypes);\n")
+                .append("            result.setAccessible(true);\n")
+                .append("            return result;\n")
+                .append("        } catch (NoSuchMethodException e) {\n")
+                .append("            throw new IllegalStateException(e);\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    private static java.lang.reflect.Field field(Class<?> type, String name) {\n")
+                .append("        try {\n")
+                .append("            java.lang.reflect.Field result = type.getDeclaredField(name);\n")
+                .append("            result.setAccessible(true);\n")
+                .append("            return result;\n")
+                .append("        } catch (NoSuchFieldException e) {\n")
+                .append("            throw new IllegalStateException(e);\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    private void validateType() {
+        if (type.getKind() != ElementKind.CLASS) {
+            throw new UnsupportedTypeException("Fixture factories can be generated only for classes: " + type, type);
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("Fixture factories cannot be generated for abstract classes: " + type, type);
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("Fixture factories cannot be generated for generic classes: " + type, type);
+        }
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException("Fixture factories cannot be generated for private classes: " + type, type);
+            }
+            if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedTypeException("Fixture factories cannot be generated for inner classes: " + type, type);
+            }
+            element = element.getEnclosingElement();
+        }
+    }
+
+    /**
+     * @return Constructors in the order they are tried by ConstructingValueGenerator.
+     */
+    private List<ExecutableElement> sortConstructors() {
+        List<ExecutableElement> result = new ArrayList<>(ElementFilter.constructorsIn(type.getEnclosedElements()));
+        result.sort(Comparator.comparingInt(constructor -> constructor.getParameters().size()));
+        return result;
+    }
+
+    private String construct(DeclaredType declaredType, ExecutableElement constructor) {
+        ExecutableType constructorType = (ExecutableType) types.asMemberOf(declaredType, constructor);
+        List<String> arguments = new ArrayList<>();
+        List<String> parameterTypes = new ArrayList<>();
+        for (int i = 0; i < constructor.getParameters().size(); i++) {
+            VariableElement parameter = constructor.getParameters().get(i);
+            TypeMirror parameterType = constructorType.getParameterTypes().get(i);
+            arguments.add(createValue(parameter.getSimpleName().toString(), parameterType, parameter));
+            parameterTypes.add(types.erasure(parameterType) + ".class");
+        }
+        String target = type.getQualifiedName().toString();
+        if (!constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            return "new " + target + "(" + String.join(", ", arguments) + ")";
+        }
+        String constant = memberConstant("java.lang.reflect.Constructor<?>", "CONSTRUCTOR_",
+                "constructor(" + target + ".class" + (parameterTypes.isEmpty() ? "" : ", " + String.join(", ", parameterTypes)) + ")");
+        return "(" + target + ") " + constant + ".newInstance(" + String.join(", ", arguments) + ")";
+    }
+
+    /**
+     * @return Name of a constant holding a reflected member, declared once per member.
+     */
+    private String memberConstant(String constantType, String prefix, String expression) {
+        return memberConstants.computeIfAbsent(constantType + " " + expression, key -> prefix + memberConstants.size());
+    }
+
+    private String assignField(DeclaredType declaredType, TypeElement declaringType, VariableElement field, boolean shadowing) {
+        String name = field.getSimpleName().toString();
+        TypeMirror fieldType = types.asMemberOf(declaredType, field);
+        String value = createValue(name, fieldType, field);
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            // Final fields are assigned like ConstructingValueGenerator does, overwriting values set by constructors
+            String constant = memberConstant("java.lang.reflect.Field", "FIELD_",
+                    "field(" + declaringType.getQualifiedName() + ".class, \"" + name + "\")");
+            throwsCheckedExceptions = true;
+            return constant + ".set(result, " + value + ")";
+        }
+        if (isAccessible(field)) {
+            String target = declaringType.equals(type) || !shadowing
+                    ? "result"
+                    : "((" + declaringType.getQualifiedName() + ") result)";
+            return target + "." + name + " = " + value;
+        }
+        ExecutableElement setter = findSetter(declaredType, declaringType, name, fieldType);
+        if (setter == null) {
+            throw new UnsupportedTypeException("Field " + name + " of " + declaringType
+                    + " is not accessible from package " + packageName + " and has no accessible setter", field);
+        }
+        throwsCheckedExceptions |= !setter.getThrownTypes().isEmpty();
+        return "result." + setter.getSimpleName() + "(" + value + ")";
+    }
+
+    private ExecutableElement findSetter(DeclaredType declaredType, TypeElement declaringType, String fieldName, TypeMirror fieldType) {
+        String setterName = "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(setterName)
+                    && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && isAccessible(method)) {
+                ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+                if (types.isSameType(methodType.getParameterTypes().get(0), fieldType)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isAccessible(Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        boolean samePackage = elements.getPackageOf(member).getQualifiedName().contentEquals(packageName);
+        return samePackage || modifiers.contains(Modifier.PUBLIC) && isAccessibleClass((TypeElement) member.getEnclosingElement());
+    }
+
+    private boolean isAccessibleClass(TypeElement element) {
+        return element.getModifiers().contains(Modifier.PUBLIC)
+                && (!(element.getEnclosingElement() instanceof TypeElement) || isAccessibleClass((TypeElement) element.getEnclosingElement()));
+    }
+
+    private TypeElement superclassOf(TypeElement element) {
+        TypeMirror superclass = element.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private String createValue(String name, TypeMirror valueType, Element element) {
+        return "(" + valueType + ") valueContext.create(\"" + name + "\", " + typeConstant(valueType, element) + ")";
+    }
+
+    private String typeConstant(TypeMirror valueType, Element element) {
+        String expression = typeInformation(valueType, element);
+        String constant = typeConstants.get(expression);
+        if (constant == null) {
+            constant = "TYPE_" + typeConstants.size();
+            typeConstants.put(expression, constant);
+        }
+        return constant;
+    }
+
+    /**
+     * @return Expression creating TypeInformation equal to the one resolved by ClassInspector.
+     */
+    private String typeInformation(TypeMirror valueType, Element element) {
+        if (valueType.getKind().isPrimitive()) {
+            return "TypeInterner.intern(" + valueType + ".class)";
+        }
+        if (valueType.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) valueType).getComponentType();
+            return "TypeInterner.intern(" + types.erasure(valueType) + ".class, java.util.Collections.singletonList("
+                    + typeInformation(componentType, element) + "))";
+        }
+        if (valueType.getKind() == TypeKind.DECLARED) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) valueType).getTypeArguments();
+            String rawType = types.erasure(valueType) + ".class";
+            if (typeArguments.isEmpty()) {
+                return "TypeInterner.intern(" + rawType + ")";
+            }
+            List<String> parameters = new ArrayList<>();
+            for (TypeMirror typeArgument : typeArguments) {
+                parameters.add(typeInformation(typeArgument, element));
+            }
+            return "TypeInterner.intern(" + rawType + ", java.util.Arrays.asList(" + String.join(", ", parameters) + "))";
+        }
+        throw new UnsupportedTypeException("Type " + valueType + " is not supported by fixture factories", element);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.github.swierkosz.fixture.generator.processor;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a FixtureFactory for each class annotated with GenerateFixtureFactory, or listed in the
+ * {@value #TYPES_OPTION} option as comma separated canonical names, and registers the factories as services.
+ * <p>
+ * The processor supports all annotations, as otherwise it would not be run for sources without the annotation,
+ * e.g. when classes are listed in the option only. It never claims annotations, so other processors still see them.
+ */
+public class FixtureFactoryProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.github.swierkosz.fixture.generator.GenerateFixtureFactory";
+    static final String TYPES_OPTION = "fixture.generator.types";
+    static final String SERVICE_FILE = "META-INF/services/com.github.swierkosz.fixture.generator.FixtureFactory";
+
+    private final Set<String> factories = new LinkedHashSet<>();
+    private boolean listedTypesProcessed;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(TYPES_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        for (TypeElement type : findTypes(roundEnv)) {
+            try {
+                FactoryWriter writer = new FactoryWriter(processingEnv, type);
+                String source = writer.write();
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.getFactoryName(), type);
+                try (Writer out = file.openWriter()) {
+                    out.write(source);
+                }
+                factories.add(writer.getFactoryName());
+            } catch (UnsupportedTypeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write fixture factory: " + e, type);
+            }
+        }
+        return false;
+    }
+
+    private List<TypeElement> findTypes(RoundEnvironment roundEnv) {
+        List<TypeElement> result = new ArrayList<>();
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                result.add((TypeElement) element);
+            }
+        }
+        String listedTypes = processingEnv.getOptions().get(TYPES_OPTION);
+        if (listedTypes != null && !listedTypesProcessed) {
+            listedTypesProcessed = true;
+            for (String name : listedTypes.split(",")) {
+                if (name.trim().isEmpty()) {
+                    continue;
+                }
+                TypeElement type = processingEnv.getElementUtils().getTypeElement(name.trim());
+                if (type == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Class listed in " + TYPES_OPTION + " not found: " + name.trim());
+                } else if (!result.contains(type)) {
+                    result.add(type);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void writeServiceFile() {
+        if (factories.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer out = file.openWriter()) {
+                for (String factory : factories) {
+                    out.write(factory);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to register fixture factories: " + e);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.swierkosz.fixture.generator.processor;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import javax.lang.model.element.Element;
+
+/**
+ * Thrown when a factory cannot be generated for a class, reported as a compilation error on a given element.
+ */
+class UnsupportedTypeException extends RuntimeException {
+
+    private final transient Element element;
+
+    UnsupportedTypeException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+
+}
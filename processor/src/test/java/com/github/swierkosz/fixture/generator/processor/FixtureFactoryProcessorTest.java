@@ -0,0 +1,212 @@
+package com.github.swierkosz.fixture.generator.processor;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import com.github.swierkosz.fixture.generator.util.GenerationMetrics;
+import com.github.swierkosz.fixture.generator.values.ConstructingValueGenerator;
+import com.github.swierkosz.fixture.generator.values.DelegatingValueGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureFactoryProcessorTest {
+
+    private static final String BASE = "package example;\n" +
+            "\n" +
+            "public class Base<T> {\n" +
+            "    T label;\n" +
+            "    private boolean flag;\n" +
+            "    public void setFlag(boolean flag) { this.flag = flag; }\n" +
+            "}\n";
+
+    private static final String ORDER = "package example;\n" +
+            "\n" +
+            "import com.github.swierkosz.fixture.generator.GenerateFixtureFactory;\n" +
+            "import java.util.List;\n" +
+            "import java.util.Map;\n" +
+            "\n" +
+            "@GenerateFixtureFactory\n" +
+            "public class Order extends Base<String> {\n" +
+            "    final String id;\n" +
+            "    List<Item> items;\n" +
+            "    Map<String, Integer> quantities;\n" +
+            "    int[] numbers;\n" +
+            "    private long total;\n" +
+            "    Customer customer;\n" +
+            "    public Order(String id) { this.id = id; }\n" +
+            "    public void setTotal(long total) { this.total = total; }\n" +
+            "\n" +
+            "    @GenerateFixtureFactory\n" +
+            "    public static class Item {\n" +
+            "        String name;\n" +
+            "        double price;\n" +
+            "    }\n" +
+            "\n" +
+            "    @GenerateFixtureFactory\n" +
+            "    public static class Customer {\n" +
+            "        public static String constructedWith;\n" +
+            "        final String name;\n" +
+            "        private Customer() { throw new IllegalStateException(\"Failing constructor\"); }\n" +
+            "        private Customer(long number) { this.name = \"private\"; constructedWith = \"private\"; }\n" +
+            "        public Customer(String first, String last) { this.name = first + last; constructedWith = \"public\"; }\n" +
+            "    }\n" +
+            "}\n";
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void shouldGenerateAndRegisterFactories() throws Exception {
+        // When
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(source("example.Base", BASE), source("example.Order", ORDER));
+
+        // Then
+        assertThat(errors).isEmpty();
+        assertThat(outputDirectory.resolve("example/Order_FixtureFactory.class")).exists();
+        assertThat(outputDirectory.resolve("example/Order_Item_FixtureFactory.class")).exists();
+        assertThat(outputDirectory.resolve("example/Order_Customer_FixtureFactory.class")).exists();
+        assertThat(Files.readAllLines(outputDirectory.resolve(FixtureFactoryProcessor.SERVICE_FILE)))
+                .containsExactly("example.Order_FixtureFactory", "example.Order_Item_FixtureFactory", "example.Order_Customer_FixtureFactory");
+    }
+
+    @Test
+    void shouldCreateValuesEqualToReflectiveOnes() throws Exception {
+        // Given
+        compile(source("example.Base", BASE), source("example.Order", ORDER));
+        Thread thread = Thread.currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri().toURL()}, originalClassLoader)) {
+            Class<?> orderClass = classLoader.loadClass("example.Order");
+            FixtureGenerator reflective = new FixtureGenerator();
+            thread.setContextClassLoader(classLoader);
+            GenerationMetrics metrics = new GenerationMetrics();
+            FixtureGenerator generated = new FixtureGenerator().configure().listen(metrics).done();
+
+            Field constructedWith = classLoader.loadClass("example.Order$Customer").getField("constructedWith");
+
+            // When
+            Object reflectiveOrder = reflective.createDeterministic(orderClass);
+            Object reflectiveConstructor = constructedWith.get(null);
+            constructedWith.set(null, null);
+            Object generatedOrder = generated.createDeterministic(orderClass);
+
+            // Then
+            assertThat(generatedOrder).usingRecursiveComparison().isEqualTo(reflectiveOrder);
+            assertThat(reflectiveConstructor).isEqualTo("private");
+            assertThat(constructedWith.get(null)).isEqualTo("private");
+            assertThat(metrics.snapshot().getGenerators())
+                    .extracting(GenerationMetrics.GeneratorStatistics::getGenerator)
+                    .hasAtLeastOneElementOfType(DelegatingValueGenerator.class)
+                    .doesNotHaveAnyElementsOfTypes(ConstructingValueGenerator.class);
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    @Test
+    void shouldGenerateFactoriesForTypesListedInOptionOnly() throws Exception {
+        // Given
+        String source = "package example;\n" +
+                "\n" +
+                "public class Plain {\n" +
+                "    String name;\n" +
+                "}\n";
+
+        // When
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                singletonList("-A" + FixtureFactoryProcessor.TYPES_OPTION + "=example.Plain"),
+                source("example.Plain", source));
+
+        // Then
+        assertThat(errors).isEmpty();
+        assertThat(outputDirectory.resolve("example/Plain_FixtureFactory.class")).exists();
+        assertThat(Files.readAllLines(outputDirectory.resolve(FixtureFactoryProcessor.SERVICE_FILE)))
+                .containsExactly("example.Plain_FixtureFactory");
+    }
+
+    @Test
+    void shouldReportInaccessibleFields() throws Exception {
+        // Given
+        String source = "package example;\n" +
+                "\n" +
+                "@com.github.swierkosz.fixture.generator.GenerateFixtureFactory\n" +
+                "public class Hidden {\n" +
+                "    private String secret;\n" +
+                "}\n";
+
+        // When
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(source("example.Hidden", source));
+
+        // Then
+        assertThat(errors)
+                .extracting(error -> error.getMessage(null))
+                .containsExactly("Field secret of example.Hidden is not accessible from package example and has no accessible setter");
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(JavaFileObject... sources) {
+        return compile(Collections.emptyList(), sources);
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(List<String> processorOptions, JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-parameters",
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDirectory.toString()));
+        options.addAll(processorOptions);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Arrays.asList(sources));
+        task.setProcessors(singletonList(new FixtureFactoryProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+    }
+
+    private static JavaFileObject source(String className, String content) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+
+}
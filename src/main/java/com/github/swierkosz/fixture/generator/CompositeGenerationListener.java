@@ -0,0 +1,59 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.List;
+
+/**
+ * Notifies several listeners in the order they were registered.
+ */
+class CompositeGenerationListener implements GenerationListener {
+
+    private final GenerationListener[] listeners;
+
+    CompositeGenerationListener(List<GenerationListener> listeners) {
+        this.listeners = listeners.toArray(new GenerationListener[0]);
+    }
+
+    @Override
+    public void valuesGenerated(TypeInformation type, int count, long nanos) {
+        for (GenerationListener listener : listeners) {
+            listener.valuesGenerated(type, count, nanos);
+        }
+    }
+
+    @Override
+    public void generatorInvoked(TypeInformation type, ValueGenerator generator, boolean produced, long nanos) {
+        for (GenerationListener listener : listeners) {
+            listener.generatorInvoked(type, generator, produced, nanos);
+        }
+    }
+
+    @Override
+    public void cyclicReferenceFound(TypeInformation type) {
+        for (GenerationListener listener : listeners) {
+            listener.cyclicReferenceFound(type);
+        }
+    }
+
+    @Override
+    public void noValueIgnored(TypeInformation type) {
+        for (GenerationListener listener : listeners) {
+            listener.noValueIgnored(type);
+        }
+    }
+
+}
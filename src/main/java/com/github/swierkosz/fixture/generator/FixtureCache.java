@@ -0,0 +1,148 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.io.FixtureSnapshot;
+import com.github.swierkosz.fixture.generator.io.UnsupportedValueException;
+import com.github.swierkosz.fixture.generator.util.CacheStatistics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of deterministic fixtures, keyed by configuration version, type and seed. Fixtures are stored
+ * as snapshots and every hit restores a new deep copy, so callers can freely mutate the returned values.
+ * The least recently used fixtures are evicted once the total size of snapshots exceeds the maximal weight.
+ * Fixtures that cannot be copied, e.g. lazy values or values with cyclic references, are not cached.
+ * Their type is then remembered as uncacheable for the configuration version, so later fixtures of that type
+ * are neither encoded nor counted as misses, whatever their seed.
+ * <p>
+ * Copies do not preserve identity of values referred to more than once: each reference is restored
+ * as a separate, equal copy.
+ */
+class FixtureCache {
+
+    private final long maxWeight;
+    private final Map<Key, FixtureSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<TypeInformation, Long> uncacheableTypes = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+    private long weight;
+
+    FixtureCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns a copy of the cached fixture, or generates the fixture and caches its copy.
+     * Concurrent misses of the same fixture may generate it more than once.
+     */
+    Object get(long version, TypeInformation type, int seed, Supplier<Object> generator) {
+        Long uncacheableVersion = uncacheableTypes.get(type);
+        if (uncacheableVersion != null && uncacheableVersion == version) {
+            statistics.recordUncacheable();
+            return generator.get();
+        }
+        Key key = new Key(version, type, seed);
+        FixtureSnapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshots.get(key);
+        }
+        if (snapshot != null) {
+            statistics.recordHit();
+            return snapshot.restore();
+        }
+        statistics.recordMiss();
+        Object value = generator.get();
+        snapshot = createSnapshot(version, type, value);
+        if (snapshot != null) {
+            put(key, snapshot);
+        }
+        return value;
+    }
+
+    private FixtureSnapshot createSnapshot(long version, TypeInformation type, Object value) {
+        try {
+            FixtureSnapshot snapshot = FixtureSnapshot.of(value);
+            if (snapshot.getSize() > maxWeight) {
+                return null;
+            }
+            // Hits must not fail, so the snapshot is restored once up front
+            snapshot.restore();
+            return snapshot;
+        } catch (UnsupportedValueException | IllegalStateException e) {
+            uncacheableTypes.put(type, version);
+            return null;
+        }
+    }
+
+    private synchronized void put(Key key, FixtureSnapshot snapshot) {
+        FixtureSnapshot previous = snapshots.put(key, snapshot);
+        weight += snapshot.getSize() - (previous != null ? previous.getSize() : 0);
+        Iterator<FixtureSnapshot> iterator = snapshots.values().iterator();
+        while (weight > maxWeight) {
+            weight -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    synchronized long getWeight() {
+        return weight;
+    }
+
+    synchronized int size() {
+        return snapshots.size();
+    }
+
+    CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static class Key {
+
+        private final long version;
+        private final TypeInformation type;
+        private final int seed;
+
+        Key(long version, TypeInformation type, int seed) {
+            this.version = version;
+            this.type = type;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return version == key.version && seed == key.seed && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, type, seed);
+        }
+
+    }
+
+}
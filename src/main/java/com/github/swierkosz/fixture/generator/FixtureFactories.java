@@ -0,0 +1,82 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+/**
+ * Loads fixture factories registered as services. Factories are stateless, so they are loaded once per class loader
+ * and shared by all fixture generators.
+ * <p>
+ * Factories refer to their class loader, so they are held weakly, as otherwise the class loader could never be
+ * collected. They are loaded again once no fixture generator uses them. Factories that cannot be loaded are skipped.
+ */
+final class FixtureFactories {
+
+    private static final Map<ClassLoader, Reference<List<FixtureFactory>>> FACTORIES = new WeakHashMap<>();
+
+    private FixtureFactories() {
+    }
+
+    static List<FixtureFactory> load() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = FixtureFactory.class.getClassLoader();
+        }
+        synchronized (FACTORIES) {
+            Reference<List<FixtureFactory>> reference = FACTORIES.get(classLoader);
+            List<FixtureFactory> result = reference == null ? null : reference.get();
+            if (result == null) {
+                result = load(classLoader);
+                FACTORIES.put(classLoader, new WeakReference<>(result));
+            }
+            return result;
+        }
+    }
+
+    private static List<FixtureFactory> load(ClassLoader classLoader) {
+        List<FixtureFactory> result = new ArrayList<>();
+        Iterator<FixtureFactory> iterator = ServiceLoader.load(FixtureFactory.class, classLoader).iterator();
+        while (hasNext(iterator)) {
+            try {
+                result.add(iterator.next());
+            } catch (ServiceConfigurationError e) {
+                // A factory that cannot be loaded, e.g. compiled against other classes, falls back to reflection
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static boolean hasNext(Iterator<FixtureFactory> iterator) {
+        while (true) {
+            try {
+                return iterator.hasNext();
+            } catch (ServiceConfigurationError e) {
+                // A malformed services file is skipped, the iterator moves on to the next one
+            }
+        }
+    }
+
+}
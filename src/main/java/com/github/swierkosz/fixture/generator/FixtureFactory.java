@@ -0,0 +1,30 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A value generator for a single class, generated at compile time by the fixture-generator-processor.
+ * Implementations listed in META-INF/services/com.github.swierkosz.fixture.generator.FixtureFactory
+ * are registered as typed generators of every new FixtureGenerator, taking precedence over reflection.
+ */
+public interface FixtureFactory extends ValueGenerator {
+
+    /**
+     * @return The class of objects created by the factory.
+     */
+    Class<?> getTargetType();
+
+}
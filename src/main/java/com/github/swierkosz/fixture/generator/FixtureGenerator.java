@@ -15,25 +15,95 @@ package com.github.swierkosz.fixture.generator;
  *    limitations under the License.
  */
 
-import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import com.github.swierkosz.fixture.generator.io.FixtureCorpus;
+import com.github.swierkosz.fixture.generator.io.FixtureCorpusWriter;
+import com.github.swierkosz.fixture.generator.io.JsonLinesWriter;
+import com.github.swierkosz.fixture.generator.io.UnsupportedValueException;
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
+import com.github.swierkosz.fixture.generator.util.CacheStatistics;
+import com.github.swierkosz.fixture.generator.values.GenerationPlan;
 import com.github.swierkosz.fixture.generator.values.ValueContextImpl;
 
-import java.util.Random;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Objects.requireNonNull;
 
 public class FixtureGenerator {
 
-    private final FixtureGeneratorConfiguration configuration = new FixtureGeneratorConfiguration();
-    private final Random random = new Random();
+    private static final int ITEM_SEED_INCREMENT = 0x9E3779B9;
+    /**
+     * Items are derived from 32-bit seeds, so the deterministic sequence repeats after this many items.
+     */
+    private static final long SEQUENCE_LENGTH = 1L << 32;
+
+    private final FixtureGeneratorConfiguration configuration;
+
+    public FixtureGenerator() {
+        this(new FixtureGeneratorConfiguration());
+    }
+
+    private FixtureGenerator(FixtureGeneratorConfiguration configuration) {
+        this.configuration = configuration;
+    }
 
     /**
      * Method for configuring fluently generation of fixtures.
      *
      * @return A configurator class.
+     * @throws IllegalStateException if the fixture generator is frozen.
      */
     public FixtureGeneratorConfigurator configure() {
+        if (configuration.isFrozen()) {
+            throw new IllegalStateException("FixtureGenerator is frozen, use copy() to change its configuration");
+        }
         return new FixtureGeneratorConfigurator(this, configuration);
     }
 
+    /**
+     * Creates a frozen fixture generator with a snapshot of the current configuration.
+     * A frozen fixture generator cannot be configured any further, but can be safely shared between threads.
+     * Changes made later to this fixture generator do not affect the frozen one.
+     *
+     * @return A frozen fixture generator; this instance, if already frozen.
+     */
+    public FixtureGenerator freeze() {
+        if (configuration.isFrozen()) {
+            return this;
+        }
+        return new FixtureGenerator(new FixtureGeneratorConfiguration(configuration, true));
+    }
+
+    /**
+     * Creates a fixture generator, which is not frozen, with a copy of the current configuration.
+     *
+     * @return A fixture generator that can be configured independently of this one.
+     */
+    public FixtureGenerator copy() {
+        return new FixtureGenerator(new FixtureGeneratorConfiguration(configuration, false));
+    }
+
+    /**
+     * @return true if the fixture generator is frozen and can be safely shared between threads.
+     */
+    public boolean isFrozen() {
+        return configuration.isFrozen();
+    }
+
+    /**
+     * @return Statistics of the cache of deterministic fixtures, or null if caching is not enabled.
+     * @see FixtureGeneratorConfigurator#cache(long)
+     */
+    public CacheStatistics getCacheStatistics() {
+        return configuration.getFixtureCacheStatistics();
+    }
+
     /**
      * Creates an instance of a class specified by type parameter.
      * All values are deterministic - calling the method with same arguments will produce equal results.
@@ -42,7 +112,7 @@ public class FixtureGenerator {
      * @return An instance of the requested type.
      */
     public <T> T createDeterministic(Class<T> type) {
-        return create(type, 0);
+        return createDeterministic(getGenerationPlan(type), 0);
     }
 
     /**
@@ -53,13 +123,230 @@ public class FixtureGenerator {
      * @return An instance of the requested type.
      */
     public <T> T createRandomized(Class<T> type) {
-        return create(type, random.nextInt());
+        return create(type, ThreadLocalRandom.current().nextInt());
+    }
+
+    /**
+     * Creates a list of instances of a class specified by type parameter.
+     * All values are deterministic - calling the method with same arguments will produce equal results.
+     * Each item is derived from its index, the first one being equal to the result of {@link #createDeterministic(Class)}.
+     *
+     * @param type  Specifies type of the objects to be constructed.
+     * @param count Number of instances to be constructed.
+     * @return A list of instances of the requested type.
+     */
+    public <T> List<T> createDeterministic(Class<T> type, int count) {
+        return createList(type, 0, 0, count, true);
+    }
+
+    /**
+     * Creates the instance at a given index of the deterministic sequence of instances of a class specified by
+     * type parameter, without creating the preceding ones. The result is equal to the item at the same index
+     * of the list returned by {@link #createDeterministic(Class, int)}.
+     * Items are derived from 32-bit seeds, so the sequence consists of 2<sup>32</sup> distinct items.
+     *
+     * @param type  Specifies type of the object to be constructed.
+     * @param index Index of the instance in the sequence.
+     * @return An instance of the requested type.
+     * @throws IllegalArgumentException if the index is negative or not less than 2<sup>32</sup>.
+     */
+    public <T> T createDeterministicAt(Class<T> type, long index) {
+        requireInSequence(index, 1, "index");
+        return createDeterministic(getGenerationPlan(type), itemSeed(0, index));
+    }
+
+    /**
+     * Creates a page of the deterministic sequence of instances of a class specified by type parameter,
+     * without creating the preceding ones. Allows paging through large deterministic data sets.
+     *
+     * @param type      Specifies type of the objects to be constructed.
+     * @param fromIndex Index of the first instance in the sequence.
+     * @param count     Number of instances to be constructed.
+     * @return A list of instances of the requested type.
+     * @throws IllegalArgumentException if the range does not fit in the sequence of 2<sup>32</sup> items.
+     * @see #createDeterministicAt(Class, long)
+     */
+    public <T> List<T> createDeterministic(Class<T> type, long fromIndex, int count) {
+        requireNonNegative(count, "count");
+        requireInSequence(fromIndex, count, "fromIndex");
+        return createList(type, 0, fromIndex, count, true);
+    }
+
+    /**
+     * Creates a list of instances of a class specified by type parameter.
+     * All values are randomized - calling the method with same arguments will produce different results.
+     *
+     * @param type  Specifies type of the objects to be constructed.
+     * @param count Number of instances to be constructed.
+     * @return A list of instances of the requested type.
+     */
+    public <T> List<T> createRandomized(Class<T> type, int count) {
+        return createList(type, ThreadLocalRandom.current().nextInt(), 0, count, false);
+    }
+
+    /**
+     * Fills an array with instances of a class specified by type parameter.
+     * All values are deterministic - the array is filled with the same values as returned by {@link #createDeterministic(Class, int)}.
+     *
+     * @param type   Specifies type of the objects to be constructed.
+     * @param target The array to be filled.
+     * @return The filled array.
+     */
+    public <T> T[] fillDeterministic(Class<T> type, T[] target) {
+        return fillArray(type, 0, target, true);
+    }
+
+    /**
+     * Fills an array with instances of a class specified by type parameter.
+     * All values are randomized - calling the method with same arguments will produce different results.
+     *
+     * @param type   Specifies type of the objects to be constructed.
+     * @param target The array to be filled.
+     * @return The filled array.
+     */
+    public <T> T[] fillRandomized(Class<T> type, T[] target) {
+        return fillArray(type, ThreadLocalRandom.current().nextInt(), target, false);
+    }
+
+    /**
+     * Writes a range of the deterministic sequence of instances of a class specified by type parameter
+     * to a stream as JSON lines, one instance per line. Each instance is discarded once written,
+     * so any number of instances can be written in bounded memory. Values are equal to the ones returned by
+     * {@link #createDeterministic(Class, long, int)}. The stream is not closed.
+     *
+     * @param type      Specifies type of the objects to be constructed.
+     * @param fromIndex Index of the first instance in the sequence.
+     * @param count     Number of instances to be written.
+     * @param out       The stream to write to.
+     * @throws IOException              if writing to the stream fails.
+     * @throws IllegalArgumentException if the range does not fit in the sequence of 2<sup>32</sup> items.
+     * @throws UnsupportedValueException if an instance has cyclic references.
+     * @see JsonLinesWriter
+     */
+    public void writeDeterministicJsonLines(Class<?> type, long fromIndex, long count, OutputStream out) throws IOException {
+        requireNonNull(out, "'out' must not be null");
+        writeDeterministicJsonLines(type, fromIndex, count, Channels.newChannel(out));
+        out.flush();
+    }
+
+    /**
+     * Writes a range of the deterministic sequence of instances of a class specified by type parameter
+     * to a channel as JSON lines, one instance per line. Each instance is discarded once written,
+     * so any number of instances can be written in bounded memory. Values are equal to the ones returned by
+     * {@link #createDeterministic(Class, long, int)}. The channel is not closed.
+     *
+     * @param type      Specifies type of the objects to be constructed.
+     * @param fromIndex Index of the first instance in the sequence.
+     * @param count     Number of instances to be written.
+     * @param channel   The channel to write to.
+     * @throws IOException              if writing to the channel fails.
+     * @throws IllegalArgumentException if the range does not fit in the sequence of 2<sup>32</sup> items.
+     * @throws UnsupportedValueException if an instance has cyclic references.
+     * @see JsonLinesWriter
+     */
+    public void writeDeterministicJsonLines(Class<?> type, long fromIndex, long count, WritableByteChannel channel) throws IOException {
+        requireNonNegative(count, "count");
+        requireInSequence(fromIndex, count, "fromIndex");
+        GenerationPlan plan = getGenerationPlan(type);
+        JsonLinesWriter writer = new JsonLinesWriter(channel);
+        for (long i = 0; i < count; i++) {
+            writer.write(create(plan, itemSeed(0, fromIndex + i)));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes a range of the deterministic sequence of instances of a class specified by type parameter
+     * to a fixture corpus file, which can be opened using {@link FixtureCorpus#open(Path, Class)}.
+     * Records of the corpus are equal to the ones returned by {@link #createDeterministic(Class, long, int)}.
+     * An existing file is replaced.
+     *
+     * @param type      Specifies type of the objects to be constructed.
+     * @param fromIndex Index of the first instance in the sequence.
+     * @param count     Number of instances to be written.
+     * @param path      Path of the corpus file.
+     * @throws IOException              if writing to the file fails.
+     * @throws IllegalArgumentException if the range does not fit in the sequence of 2<sup>32</sup> items.
+     * @see FixtureCorpusWriter
+     */
+    public void writeDeterministicCorpus(Class<?> type, long fromIndex, int count, Path path) throws IOException {
+        requireNonNegative(count, "count");
+        requireInSequence(fromIndex, count, "fromIndex");
+        GenerationPlan plan = getGenerationPlan(type);
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(path)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(create(plan, itemSeed(0, fromIndex + i)));
+            }
+        }
     }
 
-    @SuppressWarnings("unchecked")
     private <T> T create(Class<T> type, int seed) {
-        ValueContextImpl valueContext = new ValueContextImpl(configuration, null, new TypeInformationImpl(type), seed);
-        return (T) valueContext.create();
+        return create(getGenerationPlan(type), seed);
+    }
+
+    private <T> List<T> createList(Class<T> type, int baseSeed, long fromIndex, int count, boolean deterministic) {
+        requireNonNegative(count, "count");
+        GenerationPlan plan = getGenerationPlan(type);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int seed = itemSeed(baseSeed, fromIndex + i);
+            result.add(deterministic ? createDeterministic(plan, seed) : create(plan, seed));
+        }
+        return result;
+    }
+
+    private <T> T[] fillArray(Class<T> type, int baseSeed, T[] target, boolean deterministic) {
+        requireNonNull(target, "'target' must not be null");
+        GenerationPlan plan = getGenerationPlan(type);
+        for (int i = 0; i < target.length; i++) {
+            int seed = itemSeed(baseSeed, i);
+            target[i] = deterministic ? createDeterministic(plan, seed) : create(plan, seed);
+        }
+        return target;
+    }
+
+    private GenerationPlan getGenerationPlan(Class<?> type) {
+        requireNonNull(type, "'type' must not be null");
+        return configuration.getGenerationPlan(TypeInterner.intern(type));
+    }
+
+    /**
+     * Creates a deterministic instance, taking a copy of it from the cache of fixtures, if enabled.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T createDeterministic(GenerationPlan plan, int seed) {
+        FixtureCache cache = configuration.getFixtureCache();
+        if (cache == null) {
+            return create(plan, seed);
+        }
+        return (T) cache.get(configuration.getVersion(), plan.getType(), seed, () -> create(plan, seed));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T create(GenerationPlan plan, int seed) {
+        ValueContextImpl valueContext = new ValueContextImpl(configuration, configuration::getGenerationPlan, null, plan.getType(), seed);
+        return (T) valueContext.create(plan);
+    }
+
+    private static int itemSeed(int baseSeed, long index) {
+        return (int) (baseSeed + index * ITEM_SEED_INCREMENT);
+    }
+
+    private static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException("'" + name + "' must not be negative");
+        }
+    }
+
+    /**
+     * Checks that a given number of items starting at a given index are distinct items of the deterministic sequence.
+     */
+    private static void requireInSequence(long fromIndex, long count, String name) {
+        requireNonNegative(fromIndex, name);
+        if (fromIndex > SEQUENCE_LENGTH - count) {
+            throw new IllegalArgumentException("'" + name + "' must be less than " + (SEQUENCE_LENGTH - count + 1)
+                    + ", as the deterministic sequence consists of " + SEQUENCE_LENGTH + " items");
+        }
     }
 
 }
@@ -15,6 +15,12 @@ package com.github.swierkosz.fixture.generator;
  *    limitations under the License.
  */
 
+import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import com.github.swierkosz.fixture.generator.transformers.TransformerPipeline;
+import com.github.swierkosz.fixture.generator.util.CacheStatistics;
+import com.github.swierkosz.fixture.generator.util.IdTable;
+import com.github.swierkosz.fixture.generator.util.SeedScheme;
+import com.github.swierkosz.fixture.generator.util.SizeRange;
 import com.github.swierkosz.fixture.generator.values.ArrayValueGenerator;
 import com.github.swierkosz.fixture.generator.values.BooleanValueGenerator;
 import com.github.swierkosz.fixture.generator.values.CharacterValueGenerator;
@@ -22,6 +28,7 @@ import com.github.swierkosz.fixture.generator.values.CollectionValueGenerator;
 import com.github.swierkosz.fixture.generator.values.ConstructingValueGenerator;
 import com.github.swierkosz.fixture.generator.values.DelegatingValueGenerator;
 import com.github.swierkosz.fixture.generator.values.EnumValueGenerator;
+import com.github.swierkosz.fixture.generator.values.GenerationPlan;
 import com.github.swierkosz.fixture.generator.values.JavaTimeValueGenerator;
 import com.github.swierkosz.fixture.generator.values.MapValueGenerator;
 import com.github.swierkosz.fixture.generator.values.NumberValueGenerator;
@@ -29,41 +36,255 @@ import com.github.swierkosz.fixture.generator.values.OptionalValueGenerator;
 import com.github.swierkosz.fixture.generator.values.StringValueGenerator;
 import com.github.swierkosz.fixture.generator.values.UUIDValueGenerator;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
 public class FixtureGeneratorConfiguration {
 
+    private static final SizeRange DEFAULT_COLLECTION_SIZE = new SizeRange(3);
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
     private final List<ValueGenerator> generators = new ArrayList<>();
-    private final Collection<Function<Object, Object>> transformers = new ArrayList<>();
-    private final DelegatingValueGenerator delegatingValueGenerator = new DelegatingValueGenerator();
+    private final List<Function<Object, Object>> transformers = new ArrayList<>();
+    private TransformerPipeline transformerPipeline = new TransformerPipeline(transformers);
+    private final DelegatingValueGenerator delegatingValueGenerator;
+    private final ConstructingValueGenerator constructingValueGenerator;
+    private final StringValueGenerator stringValueGenerator;
+    private final Set<ValueGenerator> typeDrivenGenerators = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final boolean frozen;
+    private final ConcurrentMap<Class<?>, List<ValueGenerator>> dispatchIndex = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TypeInformation, GenerationPlan> generationPlans = new ConcurrentHashMap<>();
+    private final IdTable<GenerationPlan> generationPlansById = new IdTable<>();
     private boolean ignoreCyclicReferences;
     private boolean ignoreNoValue;
+    private SeedScheme seedScheme = SeedScheme.V1;
+    private SizeRange collectionSize = DEFAULT_COLLECTION_SIZE;
+    private final Map<Class<?>, SizeRange> collectionSizesByElementType = new HashMap<>();
+    private final Map<String, SizeRange> collectionSizesByFieldName = new HashMap<>();
+    private int parallelThreshold;
+    private final Set<Class<?>> lazyTypes = new HashSet<>();
+    private final List<GenerationListener> listeners = new ArrayList<>();
+    private GenerationListener listener;
+    private long version = VERSIONS.incrementAndGet();
+    private FixtureCache fixtureCache;
+    // Keeps the weakly cached factories loaded as long as the configuration is used
+    private final List<FixtureFactory> fixtureFactories;
 
     protected FixtureGeneratorConfiguration() {
+        delegatingValueGenerator = new DelegatingValueGenerator();
+        constructingValueGenerator = new ConstructingValueGenerator();
+        stringValueGenerator = new StringValueGenerator();
+        frozen = false;
+
         generators.add(delegatingValueGenerator);
 
-        generators.add(new ArrayValueGenerator());
-        generators.add(new BooleanValueGenerator());
-        generators.add(new CharacterValueGenerator());
-        generators.add(new CollectionValueGenerator());
-        generators.add(new EnumValueGenerator());
-        generators.add(new JavaTimeValueGenerator());
-        generators.add(new MapValueGenerator());
-        generators.add(new NumberValueGenerator());
-        generators.add(new OptionalValueGenerator());
-        generators.add(new StringValueGenerator());
-        generators.add(new UUIDValueGenerator());
+        addTypeDrivenGenerator(new ArrayValueGenerator());
+        addTypeDrivenGenerator(new BooleanValueGenerator());
+        addTypeDrivenGenerator(new CharacterValueGenerator());
+        addTypeDrivenGenerator(new CollectionValueGenerator());
+        addTypeDrivenGenerator(new EnumValueGenerator());
+        addTypeDrivenGenerator(new JavaTimeValueGenerator());
+        addTypeDrivenGenerator(new MapValueGenerator());
+        addTypeDrivenGenerator(new NumberValueGenerator());
+        addTypeDrivenGenerator(new OptionalValueGenerator());
+        addTypeDrivenGenerator(stringValueGenerator);
+        addTypeDrivenGenerator(new UUIDValueGenerator());
+
+        generators.add(constructingValueGenerator);
+
+        fixtureFactories = FixtureFactories.load();
+        for (FixtureFactory factory : fixtureFactories) {
+            delegatingValueGenerator.assignGenerator(factory.getTargetType(), factory);
+        }
+    }
+
+    /**
+     * Creates a copy of configuration. Generators with mutable state are copied, while the remaining ones are shared.
+     *
+     * @param source Configuration to be copied.
+     * @param frozen true - the copy will reject any further changes, so it can be safely shared between threads.
+     */
+    protected FixtureGeneratorConfiguration(FixtureGeneratorConfiguration source, boolean frozen) {
+        delegatingValueGenerator = new DelegatingValueGenerator(source.delegatingValueGenerator);
+        constructingValueGenerator = new ConstructingValueGenerator(source.constructingValueGenerator);
+        stringValueGenerator = new StringValueGenerator();
+        stringValueGenerator.setFast(source.stringValueGenerator.isFast());
+        this.frozen = frozen;
+
+        for (ValueGenerator generator : source.generators) {
+            if (generator == source.delegatingValueGenerator) {
+                generators.add(delegatingValueGenerator);
+            } else if (generator == source.stringValueGenerator) {
+                addTypeDrivenGenerator(stringValueGenerator);
+            } else if (generator == source.constructingValueGenerator) {
+                generators.add(constructingValueGenerator);
+            } else if (source.typeDrivenGenerators.contains(generator)) {
+                addTypeDrivenGenerator(generator);
+            } else {
+                generators.add(generator);
+            }
+        }
+        transformers.addAll(source.transformers);
+        transformerPipeline = source.transformerPipeline;
+        ignoreCyclicReferences = source.ignoreCyclicReferences;
+        ignoreNoValue = source.ignoreNoValue;
+        seedScheme = source.seedScheme;
+        collectionSize = source.collectionSize;
+        collectionSizesByElementType.putAll(source.collectionSizesByElementType);
+        collectionSizesByFieldName.putAll(source.collectionSizesByFieldName);
+        parallelThreshold = source.parallelThreshold;
+        lazyTypes.addAll(source.lazyTypes);
+        listeners.addAll(source.listeners);
+        listener = source.listener;
+        // Copies generate equal values until they change, so they can share cached fixtures
+        version = source.version;
+        fixtureCache = source.fixtureCache;
+        fixtureFactories = source.fixtureFactories;
+    }
 
-        generators.add(new ConstructingValueGenerator());
+    private void addTypeDrivenGenerator(ValueGenerator generator) {
+        generators.add(generator);
+        typeDrivenGenerators.add(generator);
     }
 
+    /**
+     * Returns generators in the order they are consulted. Changes of the returned collection change
+     * the configuration, so they are rejected by frozen configurations.
+     */
     public Collection<ValueGenerator> getGenerators() {
-        return generators;
+        return new ConfigurationList<>(generators, this::invalidateGenerationPlans);
+    }
+
+    /**
+     * Returns a generation plan for a given type. Plans are compiled on first request and reused
+     * until configuration changes. Plans of canonical types are looked up by their ids, unless the ids are too large
+     * for an id table, as ids are shared by all configurations.
+     * <p>
+     * Each plan only pre-resolves the generators and transformers of its own type. Plans of nested values
+     * are looked up separately while generating, so they are not linked into a tree.
+     */
+    GenerationPlan getGenerationPlan(TypeInformation type) {
+        int id = getId(type);
+        if (!generationPlansById.accepts(id)) {
+            GenerationPlan plan = generationPlans.get(type);
+            if (plan == null) {
+                plan = generationPlans.computeIfAbsent(type, this::compileGenerationPlan);
+            }
+            return plan;
+        }
+        GenerationPlan plan = generationPlansById.get(id);
+        if (plan == null) {
+            plan = compileGenerationPlan(type);
+            generationPlansById.put(id, plan);
+        }
+        return plan;
+    }
+
+    private static int getId(TypeInformation type) {
+        if (type instanceof TypeInformationImpl) {
+            return ((TypeInformationImpl) type).getId();
+        }
+        return TypeInformationImpl.NOT_INTERNED;
+    }
+
+    /**
+     * Returns generators, which declare support for a given raw type, in the order they should be consulted.
+     * The result is indexed once per raw type and reused until configuration changes.
+     */
+    public List<ValueGenerator> getGeneratorsFor(Class<?> rawType) {
+        List<ValueGenerator> result = dispatchIndex.get(rawType);
+        if (result == null) {
+            result = dispatchIndex.computeIfAbsent(rawType, this::indexGenerators);
+        }
+        return result;
+    }
+
+    private List<ValueGenerator> indexGenerators(Class<?> rawType) {
+        List<ValueGenerator> result = new ArrayList<>();
+        for (ValueGenerator generator : generators) {
+            if (generator.supports(rawType)) {
+                result.add(generator);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private GenerationPlan compileGenerationPlan(TypeInformation type) {
+        return new GenerationPlan(type, getGeneratorsFor(type.getRawType()), typeDrivenGenerators, transformerPipeline);
+    }
+
+    private void invalidateGenerationPlans() {
+        dispatchIndex.clear();
+        generationPlans.clear();
+        generationPlansById.clear();
+    }
+
+    /**
+     * Statistics of class metadata cache, which holds fields and constructors inspected during construction of objects.
+     */
+    public CacheStatistics getClassMetadataStatistics() {
+        return constructingValueGenerator.getClassInspector().getStatistics();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Checks that the configuration can be changed and assigns it a new version.
+     */
+    private void beginChange() {
+        if (frozen) {
+            throw new IllegalStateException("Configuration is frozen, create a copy of FixtureGenerator to change it");
+        }
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of the configuration, which changes on every change of the configuration.
+     * Copies share the version of their source until either of them changes, as versions are never reused.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Cache of deterministic fixtures, or null if they are not cached.
+     */
+    FixtureCache getFixtureCache() {
+        return fixtureCache;
+    }
+
+    /**
+     * Statistics of the cache of deterministic fixtures, or null if they are not cached.
+     */
+    public CacheStatistics getFixtureCacheStatistics() {
+        return fixtureCache != null ? fixtureCache.getStatistics() : null;
+    }
+
+    /**
+     * @param maxWeight Maximal total size of cached fixtures, in bytes of their snapshots; 0 disables the cache.
+     */
+    public void setFixtureCacheWeight(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("'maxWeight' must not be negative");
+        }
+        beginChange();
+        fixtureCache = maxWeight == 0 ? null : new FixtureCache(maxWeight);
     }
 
     public boolean isIgnoreCyclicReferences() {
@@ -71,6 +292,7 @@ public class FixtureGeneratorConfiguration {
     }
 
     public void setIgnoreCyclicReferences(boolean ignoreCyclicReferences) {
+        beginChange();
         this.ignoreCyclicReferences = ignoreCyclicReferences;
     }
 
@@ -79,27 +301,204 @@ public class FixtureGeneratorConfiguration {
     }
 
     public void setIgnoreNoValue(boolean ignoreNoValue) {
+        beginChange();
         this.ignoreNoValue = ignoreNoValue;
     }
 
+    public boolean isFastStrings() {
+        return stringValueGenerator.isFast();
+    }
+
+    public void setFastStrings(boolean fastStrings) {
+        beginChange();
+        stringValueGenerator.setFast(fastStrings);
+    }
+
+    public SeedScheme getSeedScheme() {
+        return seedScheme;
+    }
+
+    public void setSeedScheme(SeedScheme seedScheme) {
+        requireNonNull(seedScheme, "'seedScheme' must not be null");
+        beginChange();
+        this.seedScheme = seedScheme;
+    }
+
+    /**
+     * Returns the range of sizes of a collection, map or array. A size defined for the field takes precedence
+     * over a size defined for the element type, which takes precedence over the default size.
+     *
+     * @param fieldName   Name of the field holding the collection, may be null.
+     * @param elementType Raw type of elements; for maps, of keys.
+     */
+    public SizeRange getCollectionSize(String fieldName, Class<?> elementType) {
+        if (!collectionSizesByFieldName.isEmpty() && fieldName != null) {
+            SizeRange result = collectionSizesByFieldName.get(fieldName);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (!collectionSizesByElementType.isEmpty()) {
+            SizeRange result = collectionSizesByElementType.get(elementType);
+            if (result != null) {
+                return result;
+            }
+        }
+        return collectionSize;
+    }
+
+    public void setCollectionSize(SizeRange collectionSize) {
+        requireNonNull(collectionSize, "'collectionSize' must not be null");
+        beginChange();
+        this.collectionSize = collectionSize;
+    }
+
+    public void setCollectionSize(Class<?> elementType, SizeRange collectionSize) {
+        requireNonNull(elementType, "'elementType' must not be null");
+        requireNonNull(collectionSize, "'collectionSize' must not be null");
+        beginChange();
+        collectionSizesByElementType.put(elementType, collectionSize);
+    }
+
+    public void setCollectionSize(String fieldName, SizeRange collectionSize) {
+        requireNonNull(fieldName, "'fieldName' must not be null");
+        requireNonNull(collectionSize, "'collectionSize' must not be null");
+        beginChange();
+        collectionSizesByFieldName.put(fieldName, collectionSize);
+    }
+
+    /**
+     * @return Minimal number of elements of a collection, map or array to be generated in parallel,
+     * or 0 if values are always generated sequentially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("'parallelThreshold' must not be negative");
+        }
+        beginChange();
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * @param type Type of a value to be generated.
+     * @return true if values of the type are generated lazily, on first access to a proxy.
+     */
+    public boolean isLazy(Class<?> type) {
+        return !lazyTypes.isEmpty() && lazyTypes.contains(type);
+    }
+
+    public void addLazyType(Class<?> type) {
+        requireNonNull(type, "'type' must not be null");
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("Only interfaces can be generated lazily: " + type.getName());
+        }
+        beginChange();
+        lazyTypes.add(type);
+    }
+
+    /**
+     * @return Listener to be notified about generated values, or null if there are no listeners.
+     */
+    public GenerationListener getListener() {
+        return listener;
+    }
+
+    public void addListener(GenerationListener listener) {
+        requireNonNull(listener, "'listener' must not be null");
+        beginChange();
+        listeners.add(listener);
+        this.listener = listeners.size() == 1 ? listener : new CompositeGenerationListener(listeners);
+    }
+
+    /**
+     * Returns transformers in the order they are applied. Changes of the returned collection change
+     * the configuration, so they are rejected by frozen configurations.
+     */
     public Collection<Function<Object, Object>> getTransformers() {
-        return transformers;
+        return new ConfigurationList<>(transformers, this::rebuildTransformerPipeline);
     }
 
     public void addTransformer(Function<Object, Object> transformer) {
         requireNonNull(transformer, "'transformer' must not be null");
+        beginChange();
         transformers.add(transformer);
+        rebuildTransformerPipeline();
+    }
+
+    private void rebuildTransformerPipeline() {
+        transformerPipeline = new TransformerPipeline(transformers);
+        invalidateGenerationPlans();
     }
 
     public void addGenerator(ValueGenerator generator) {
         requireNonNull(generator, "'generator' must not be null");
+        beginChange();
         generators.add(0, generator);
+        invalidateGenerationPlans();
     }
 
     public void assignGenerator(Class<?> type, ValueGenerator generator) {
         requireNonNull(type, "'type' must not be null");
         requireNonNull(generator, "'generator' must not be null");
+        beginChange();
         delegatingValueGenerator.assignGenerator(type, generator);
+        invalidateGenerationPlans();
+    }
+
+    /**
+     * Live view of a list of configuration, which begins a change before each modification and applies it afterwards.
+     */
+    private final class ConfigurationList<E> extends AbstractList<E> {
+
+        private final List<E> elements;
+        private final Runnable applyChange;
+
+        private ConfigurationList(List<E> elements, Runnable applyChange) {
+            this.elements = elements;
+            this.applyChange = applyChange;
+        }
+
+        @Override
+        public E get(int index) {
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public E set(int index, E element) {
+            requireNonNull(element, "'element' must not be null");
+            beginChange();
+            E result = elements.set(index, element);
+            applyChange.run();
+            return result;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            requireNonNull(element, "'element' must not be null");
+            beginChange();
+            elements.add(index, element);
+            modCount++;
+            applyChange.run();
+        }
+
+        @Override
+        public E remove(int index) {
+            beginChange();
+            E result = elements.remove(index);
+            modCount++;
+            applyChange.run();
+            return result;
+        }
+
     }
 
 }
@@ -18,6 +18,9 @@ package com.github.swierkosz.fixture.generator;
 import com.github.swierkosz.fixture.generator.transformers.TypedInterceptor;
 import com.github.swierkosz.fixture.generator.transformers.TypedTransformer;
 import com.github.swierkosz.fixture.generator.transformers.UntypedInterceptor;
+import com.github.swierkosz.fixture.generator.util.GenerationMetrics;
+import com.github.swierkosz.fixture.generator.util.SeedScheme;
+import com.github.swierkosz.fixture.generator.util.SizeRange;
 import com.github.swierkosz.fixture.generator.values.SubclassValueGenerator;
 
 import java.util.function.Consumer;
@@ -28,6 +31,9 @@ import java.util.function.Function;
  */
 public class FixtureGeneratorConfigurator {
 
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+    private static final long DEFAULT_CACHE_WEIGHT = 64 * 1024 * 1024;
+
     private final FixtureGenerator fixtureGenerator;
     private final FixtureGeneratorConfiguration configuration;
 
@@ -80,6 +86,201 @@ public class FixtureGeneratorConfigurator {
         return this;
     }
 
+    /**
+     * Changes configuration to generate strings directly from random values, without computing UUIDs.
+     * Strings keep the same shape, but their values differ from the ones generated by default.
+     *
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator fastStrings() {
+        return fastStrings(true);
+    }
+
+    /**
+     * Changes configuration with regard to generation of strings.
+     *
+     * @param enabled true - strings will be generated directly from random values, which is considerably faster.
+     *                false - strings will be generated from UUIDs, compatible with previous versions (default).
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator fastStrings(boolean enabled) {
+        configuration.setFastStrings(enabled);
+        return this;
+    }
+
+    /**
+     * Changes the scheme of deriving random values from seeds.
+     *
+     * @param seedScheme {@link SeedScheme#V1} - values compatible with previous versions (default).
+     *                   {@link SeedScheme#V2} - values derived using SplitMix64, which is faster, but produces different values.
+     *                   {@link SeedScheme#V3} - counter-based SplitMix64, where each seed is a pure hash of the root seed,
+     *                   field names on the path and element indexes. Elements of a collection do not depend on each
+     *                   other, so any element can be generated without its predecessors. Values outside
+     *                   of collections are the same as with V2, while elements of collections differ.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator seedScheme(SeedScheme seedScheme) {
+        configuration.setSeedScheme(seedScheme);
+        return this;
+    }
+
+    /**
+     * Changes the number of elements of generated collections, maps and arrays (3 by default).
+     *
+     * @param size Number of elements.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(int size) {
+        return collectionSize(size, size);
+    }
+
+    /**
+     * Changes the number of elements of generated collections, maps and arrays to a random number within a range.
+     *
+     * @param min Minimal number of elements, inclusive.
+     * @param max Maximal number of elements, inclusive.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(int min, int max) {
+        configuration.setCollectionSize(new SizeRange(min, max));
+        return this;
+    }
+
+    /**
+     * Changes the number of elements of generated collections and arrays of a given element type,
+     * or of maps with a given key type. Takes precedence over the default number of elements.
+     *
+     * @param elementType Type of elements.
+     * @param size        Number of elements.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(Class<?> elementType, int size) {
+        return collectionSize(elementType, size, size);
+    }
+
+    /**
+     * Changes the number of elements of generated collections and arrays of a given element type,
+     * or of maps with a given key type, to a random number within a range.
+     * Takes precedence over the default number of elements.
+     *
+     * @param elementType Type of elements.
+     * @param min         Minimal number of elements, inclusive.
+     * @param max         Maximal number of elements, inclusive.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(Class<?> elementType, int min, int max) {
+        configuration.setCollectionSize(elementType, new SizeRange(min, max));
+        return this;
+    }
+
+    /**
+     * Changes the number of elements of collections, maps and arrays generated for fields with a given name.
+     * Takes precedence over numbers of elements defined by element type.
+     *
+     * @param fieldName Name of the field.
+     * @param size      Number of elements.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(String fieldName, int size) {
+        return collectionSize(fieldName, size, size);
+    }
+
+    /**
+     * Changes the number of elements of collections, maps and arrays generated for fields with a given name
+     * to a random number within a range. Takes precedence over numbers of elements defined by element type.
+     *
+     * @param fieldName Name of the field.
+     * @param min       Minimal number of elements, inclusive.
+     * @param max       Maximal number of elements, inclusive.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator collectionSize(String fieldName, int min, int max) {
+        configuration.setCollectionSize(fieldName, new SizeRange(min, max));
+        return this;
+    }
+
+    /**
+     * Changes configuration to generate elements of large collections, maps and arrays in parallel,
+     * using the common fork/join pool. Generated values are identical to the ones generated sequentially.
+     * Custom generators and transformers must be thread safe.
+     *
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator parallel() {
+        return parallel(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Changes configuration with regard to parallel generation of elements of collections, maps and arrays.
+     *
+     * @param threshold Minimal number of elements to be generated in parallel, e.g. 256.
+     *                  0 - elements are always generated sequentially (default).
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator parallel(int threshold) {
+        configuration.setParallelThreshold(threshold);
+        return this;
+    }
+
+    /**
+     * Changes configuration to generate values of given interfaces lazily. Such values are proxies, which generate
+     * the actual value on first method call, then delegate to it. The actual value is equal to the one that would
+     * be generated eagerly, using the configuration current at the time of the first call.
+     * Transformers are applied to the actual value only. Proxies are not created for the requested root objects.
+     *
+     * @param types Interfaces whose values should be generated lazily.
+     * @return configurator
+     * @throws IllegalArgumentException if any of the types is not an interface.
+     */
+    public FixtureGeneratorConfigurator lazy(Class<?>... types) {
+        for (Class<?> type : types) {
+            configuration.addLazyType(type);
+        }
+        return this;
+    }
+
+    /**
+     * Changes configuration to cache deterministic fixtures, up to 64 MiB of their encoded copies.
+     *
+     * @return configurator
+     * @see #cache(long)
+     */
+    public FixtureGeneratorConfigurator cache() {
+        return cache(DEFAULT_CACHE_WEIGHT);
+    }
+
+    /**
+     * Changes configuration with regard to caching of deterministic fixtures. Cached fixtures are kept as encoded
+     * copies, keyed by configuration version, type and seed, and every call returns a new deep copy, equal to
+     * a freshly generated value. Calls of generators, transformers and listeners are skipped for cached fixtures.
+     * Fixtures that cannot be copied, e.g. lazy values or values with cyclic references, are not cached,
+     * and neither are later fixtures of their type, which are counted as uncacheable in the statistics.
+     * Copies do not preserve identity of values referred to more than once within a fixture.
+     * Every miss pays for encoding the generated fixture and decoding it once, to verify that the copy can be
+     * restored, so caching pays off only for fixtures requested repeatedly.
+     * Frozen snapshots and copies share the cache until their configuration changes.
+     *
+     * @param maxBytes Maximal total size of encoded copies; the least recently used ones are evicted first.
+     *                 0 - fixtures are not cached (default).
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator cache(long maxBytes) {
+        configuration.setFixtureCacheWeight(maxBytes);
+        return this;
+    }
+
+    /**
+     * Registers a listener to be notified about generated values, e.g. {@link GenerationMetrics}.
+     * Values are generated without any instrumentation overhead, unless a listener is registered.
+     *
+     * @param listener The listener, which must be thread safe.
+     * @return configurator
+     */
+    public FixtureGeneratorConfigurator listen(GenerationListener listener) {
+        configuration.addListener(listener);
+        return this;
+    }
+
     /**
      * Registers a typed interceptor that will be called for every generated object of equal type.
      * Allows performing additional post-processing after object is generated.
@@ -172,4 +373,14 @@ public class FixtureGeneratorConfigurator {
         return fixtureGenerator;
     }
 
+    /**
+     * Method for fluently finishing configuring of fixture generator, producing its frozen snapshot.
+     * The snapshot cannot be configured any further, but can be safely shared between threads.
+     *
+     * @return frozen fixtureGenerator
+     */
+    public FixtureGenerator freeze() {
+        return fixtureGenerator.freeze();
+    }
+
 }
@@ -0,0 +1,68 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Observes generation of values, e.g. to find types and generators that take most of the time.
+ * <p>
+ * Listeners are called from threads generating values, including fork/join workers when elements are generated
+ * in parallel, so they must be thread safe and should return quickly.
+ */
+public interface GenerationListener {
+
+    /**
+     * Called after values of a type were generated, or failed to be generated.
+     * Values of nested types are generated while values of their enclosing types are, so durations are inclusive.
+     * Components of primitive arrays filled directly by a built-in generator are reported in bulk,
+     * with a single duration for all of them.
+     *
+     * @param type  Type of the values.
+     * @param count Number of values.
+     * @param nanos Time taken to generate all the values, in nanoseconds.
+     */
+    default void valuesGenerated(TypeInformation type, int count, long nanos) {
+    }
+
+    /**
+     * Called after a generator was consulted for a value of a type.
+     * Values of nested types are generated while the generator runs, so durations are inclusive.
+     * Generators throwing an exception are not reported.
+     *
+     * @param type      Type of the value.
+     * @param generator The generator.
+     * @param produced  false if the generator returned NO_VALUE.
+     * @param nanos     Time taken by the generator, in nanoseconds.
+     */
+    default void generatorInvoked(TypeInformation type, ValueGenerator generator, boolean produced, long nanos) {
+    }
+
+    /**
+     * Called when a cyclic reference was found, before it is either ignored or reported as an error.
+     *
+     * @param type Type that is already under construction.
+     */
+    default void cyclicReferenceFound(TypeInformation type) {
+    }
+
+    /**
+     * Called when no generator produced a value of a type and null was used instead.
+     *
+     * @param type Type of the value.
+     */
+    default void noValueIgnored(TypeInformation type) {
+    }
+
+}
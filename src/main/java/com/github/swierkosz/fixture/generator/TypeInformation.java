@@ -16,6 +16,7 @@ package com.github.swierkosz.fixture.generator;
  */
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface TypeInformation {
 
@@ -25,4 +26,17 @@ public interface TypeInformation {
 
     boolean is(Class<?> other);
 
+    /**
+     * @return Name of the type including its type parameters, e.g. java.util.List&lt;java.lang.String&gt;.
+     */
+    default String getTypeName() {
+        String name = getRawType().getTypeName();
+        if (getTypeParameters().isEmpty() || getRawType().isArray()) {
+            return name;
+        }
+        return getTypeParameters().stream()
+                .map(TypeInformation::getTypeName)
+                .collect(Collectors.joining(", ", name + "<", ">"));
+    }
+
 }
@@ -18,6 +18,7 @@ package com.github.swierkosz.fixture.generator;
 import com.github.swierkosz.fixture.generator.util.ExtendedRandom;
 
 import java.util.Collection;
+import java.util.function.ObjIntConsumer;
 
 public interface ValueContext {
 
@@ -31,4 +32,36 @@ public interface ValueContext {
 
     Collection<Object> createCollection(String fieldName, TypeInformation type);
 
+    /**
+     * Returns the number of elements of a collection, map or array generated in this context.
+     *
+     * @param elementType Type of elements; for maps, of keys.
+     * @return Number of elements, 3 unless configured otherwise.
+     */
+    default int getCollectionSize(TypeInformation elementType) {
+        return 3;
+    }
+
+    /**
+     * Creates elements of a collection, map or array and passes them directly to a consumer, along with their
+     * indexes, so the target can be presized and filled without an intermediate collection.
+     * Elements are equal to the ones returned by {@link #createCollection(String, TypeInformation)}
+     * when the size is equal to {@link #getCollectionSize(TypeInformation)}.
+     *
+     * @param fieldName Name of the field holding the elements.
+     * @param type      Type of elements.
+     * @param size      Number of elements, as returned by {@link #getCollectionSize(TypeInformation)}.
+     * @param consumer  Receives each element and its index.
+     */
+    default void createElements(String fieldName, TypeInformation type, int size, ObjIntConsumer<Object> consumer) {
+        int index = 0;
+        for (Object element : createCollection(fieldName, type)) {
+            if (index == size) {
+                break;
+            }
+            consumer.accept(element, index);
+            index++;
+        }
+    }
+
 }
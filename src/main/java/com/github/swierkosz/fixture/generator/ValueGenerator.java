@@ -26,4 +26,16 @@ public interface ValueGenerator {
 
     Object generateValue(ValueContext valueContext);
 
+    /**
+     * Optionally declares raw types handled by the generator. The generator will not be consulted for raw types,
+     * for which false is returned, as if it returned NO_VALUE. The result must depend solely on the raw type,
+     * as it is indexed once per configuration.
+     *
+     * @param rawType Raw type of the value to be generated.
+     * @return false if the generator never produces values of the raw type; true otherwise (default).
+     */
+    default boolean supports(Class<?> rawType) {
+        return true;
+    }
+
 }
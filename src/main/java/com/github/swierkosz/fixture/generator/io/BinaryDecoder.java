@@ -0,0 +1,362 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ARRAY;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BIG_DECIMAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BIG_INTEGER;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BYTE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.CALENDAR;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.CHAR;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.COLLECTION;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.DATE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.DOUBLE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ENUM;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.FALSE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.FLOAT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.INT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.LATIN1;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.LONG;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.MAP;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.NULL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OBJECT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_DOUBLE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_INT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_LONG;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.PRIMITIVE_ARRAY;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.SHORT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.STRING;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TEMPORAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TIME_ZONE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TRUE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ZONE_ID;
+
+/**
+ * Decodes values encoded by {@link BinaryEncoder} from a buffer, e.g. a memory-mapped file.
+ * Primitive arrays and strings are copied straight from the buffer into their final arrays.
+ */
+final class BinaryDecoder {
+
+    private static final ClassValue<Method> PARSE_METHODS = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("parse", CharSequence.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Unable to parse values of class: " + type.getName(), e);
+            }
+        }
+    };
+
+    private final ByteBuffer buffer;
+    private final Class<?>[] classes;
+    private final Field[][] fields;
+
+    BinaryDecoder(ByteBuffer buffer, Class<?>[] classes, Field[][] fields) {
+        this.buffer = buffer;
+        this.classes = classes;
+        this.fields = fields;
+    }
+
+    /**
+     * Reads the class table written by {@link BinaryEncoder#writeClassTable()}, resolving classes using a class loader.
+     * Fields of classes written field by field must not have changed since they were written.
+     */
+    static BinaryDecoder create(ByteBuffer buffer, ByteBuffer classTable, ClassLoader classLoader) {
+        BinaryDecoder tableDecoder = new BinaryDecoder(classTable, new Class<?>[0], new Field[0][]);
+        int count = classTable.getInt();
+        Class<?>[] classes = new Class<?>[count];
+        Field[][] fields = new Field[count][];
+        for (int i = 0; i < count; i++) {
+            String name = tableDecoder.readString();
+            try {
+                classes[i] = Class.forName(name, false, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Class of encoded values not found: " + name, e);
+            }
+            int fieldCount = classTable.getInt();
+            if (fieldCount >= 0) {
+                fields[i] = ObjectFields.of(classes[i]);
+                if (fields[i] == null || fields[i].length != fieldCount) {
+                    throw new IllegalStateException("Fields of class have changed since values were encoded: " + name);
+                }
+                for (Field field : fields[i]) {
+                    if (!field.getName().equals(tableDecoder.readString())) {
+                        throw new IllegalStateException("Fields of class have changed since values were encoded: " + name);
+                    }
+                }
+            }
+        }
+        return new BinaryDecoder(buffer, classes, fields);
+    }
+
+    /**
+     * Reads a value starting at a given position of the buffer.
+     */
+    Object readValue(int position) {
+        ByteBuffer view = buffer.duplicate();
+        ((Buffer) view).position(position);
+        return new BinaryDecoder(view, classes, fields).readValue();
+    }
+
+    private Object readValue() {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case BYTE:
+                return buffer.get();
+            case SHORT:
+                return buffer.getShort();
+            case CHAR:
+                return buffer.getChar();
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case FLOAT:
+                return buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING:
+                return readString();
+            case ENUM:
+                return readClass().getEnumConstants()[buffer.getInt()];
+            case OBJECT:
+                return readObject();
+            case ARRAY:
+                return readArray();
+            case PRIMITIVE_ARRAY:
+                return readPrimitiveArray();
+            case COLLECTION:
+                return readCollection();
+            case MAP:
+                return readMap();
+            case OPTIONAL:
+                return Optional.ofNullable(readValue());
+            case OPTIONAL_INT:
+                Object intValue = readValue();
+                return intValue == null ? OptionalInt.empty() : OptionalInt.of((Integer) intValue);
+            case OPTIONAL_LONG:
+                Object longValue = readValue();
+                return longValue == null ? OptionalLong.empty() : OptionalLong.of((Long) longValue);
+            case OPTIONAL_DOUBLE:
+                Object doubleValue = readValue();
+                return doubleValue == null ? OptionalDouble.empty() : OptionalDouble.of((Double) doubleValue);
+            case BinaryFormat.UUID:
+                return new UUID(buffer.getLong(), buffer.getLong());
+            case BIG_INTEGER:
+                return new BigInteger(readBytes());
+            case BIG_DECIMAL:
+                BigInteger unscaledValue = new BigInteger(readBytes());
+                return new BigDecimal(unscaledValue, buffer.getInt());
+            case DATE:
+                return newDate(readClass(), buffer.getLong());
+            case CALENDAR:
+                long millis = buffer.getLong();
+                Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(readString()));
+                calendar.setTimeInMillis(millis);
+                return calendar;
+            case TIME_ZONE:
+                return TimeZone.getTimeZone(readString());
+            case ZONE_ID:
+                return ZoneId.of(readString());
+            case TEMPORAL:
+                return parse(readClass(), readString());
+            default:
+                throw new IllegalStateException("Unknown tag " + tag + " at position " + (buffer.position() - 1));
+        }
+    }
+
+    private Object readObject() {
+        int classId = buffer.getInt();
+        Class<?> type = classes[classId];
+        Field[] objectFields = fields[classId];
+        Constructor<?> constructor = ObjectConstructors.require(type);
+        if (ObjectConstructors.isRecord(type)) {
+            Object[] args = new Object[objectFields.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = readValue();
+            }
+            return newInstance(constructor, args);
+        }
+        Object result = newInstance(constructor);
+        for (Field field : objectFields) {
+            try {
+                field.set(result, readValue());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to set field: " + field, e);
+            }
+        }
+        return result;
+    }
+
+    private Object readArray() {
+        Class<?> type = readClass();
+        int length = buffer.getInt();
+        Object[] result = (Object[]) Array.newInstance(type.getComponentType(), length);
+        for (int i = 0; i < length; i++) {
+            result[i] = readValue();
+        }
+        return result;
+    }
+
+    private Object readPrimitiveArray() {
+        Class<?> componentType = readClass().getComponentType();
+        int length = buffer.getInt();
+        if (componentType == int.class) {
+            int[] result = new int[length];
+            buffer.asIntBuffer().get(result);
+            advance(length * 4);
+            return result;
+        } else if (componentType == long.class) {
+            long[] result = new long[length];
+            buffer.asLongBuffer().get(result);
+            advance(length * 8);
+            return result;
+        } else if (componentType == double.class) {
+            double[] result = new double[length];
+            buffer.asDoubleBuffer().get(result);
+            advance(length * 8);
+            return result;
+        } else if (componentType == float.class) {
+            float[] result = new float[length];
+            buffer.asFloatBuffer().get(result);
+            advance(length * 4);
+            return result;
+        } else if (componentType == short.class) {
+            short[] result = new short[length];
+            buffer.asShortBuffer().get(result);
+            advance(length * 2);
+            return result;
+        } else if (componentType == char.class) {
+            char[] result = new char[length];
+            buffer.asCharBuffer().get(result);
+            advance(length * 2);
+            return result;
+        } else if (componentType == byte.class) {
+            byte[] result = new byte[length];
+            buffer.get(result);
+            return result;
+        } else {
+            boolean[] result = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = buffer.get() == TRUE;
+            }
+            return result;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection() {
+        Collection<Object> result = (Collection<Object>) newInstance(ObjectConstructors.require(readClass()));
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            result.add(readValue());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap() {
+        Map<Object, Object> result = (Map<Object, Object>) newInstance(ObjectConstructors.require(readClass()));
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            Object key = readValue();
+            result.put(key, readValue());
+        }
+        return result;
+    }
+
+    private Class<?> readClass() {
+        return classes[buffer.getInt()];
+    }
+
+    String readString() {
+        byte encoding = buffer.get();
+        int length = buffer.getInt();
+        if (encoding == LATIN1) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        advance(length * 2);
+        return new String(chars);
+    }
+
+    private byte[] readBytes() {
+        byte[] result = new byte[buffer.getInt()];
+        buffer.get(result);
+        return result;
+    }
+
+    private void advance(int bytes) {
+        ((Buffer) buffer).position(buffer.position() + bytes);
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create instance of: " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static Object newDate(Class<?> type, long millis) {
+        try {
+            return type.getConstructor(long.class).newInstance(millis);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create instance of: " + type.getName(), e);
+        }
+    }
+
+    private static Object parse(Class<?> type, String text) {
+        try {
+            return PARSE_METHODS.get(type).invoke(null, text);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to parse value of: " + type.getName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,444 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ARRAY;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BIG_DECIMAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BIG_INTEGER;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.BYTE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.CALENDAR;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.CHAR;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.COLLECTION;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.DATE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.DOUBLE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ENUM;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.FALSE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.FLOAT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.INT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.LATIN1;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.LONG;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.MAP;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.NULL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OBJECT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_DOUBLE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_INT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.OPTIONAL_LONG;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.PRIMITIVE_ARRAY;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.SHORT;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.STRING;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TEMPORAL;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TIME_ZONE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.TRUE;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.UTF16;
+import static com.github.swierkosz.fixture.generator.io.BinaryFormat.ZONE_ID;
+
+/**
+ * Encodes values into a growing buffer, collecting classes of the encoded values into a class table.
+ * Values referred to more than once are encoded as separate copies, and values referring to themselves,
+ * directly or indirectly, cannot be encoded.
+ */
+final class BinaryEncoder {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Map<Class<?>, Integer> classIds = new IdentityHashMap<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+    private final Set<Class<?>> fieldByFieldClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Object> enclosingValues = Collections.newSetFromMap(new IdentityHashMap<>());
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+    /**
+     * @return Buffer with values encoded since the last call of {@link #clear()}, ready to be written.
+     */
+    ByteBuffer getBuffer() {
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    void clear() {
+        ((Buffer) buffer).clear();
+    }
+
+    void writeValue(Object value) {
+        if (value == null) {
+            writeByte(NULL);
+        } else if (value instanceof String) {
+            writeByte(STRING);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            ensureCapacity(5);
+            buffer.put(INT).putInt((Integer) value);
+        } else if (value instanceof Long) {
+            ensureCapacity(9);
+            buffer.put(LONG).putLong((Long) value);
+        } else if (value instanceof Double) {
+            ensureCapacity(9);
+            buffer.put(DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Float) {
+            ensureCapacity(5);
+            buffer.put(FLOAT).putFloat((Float) value);
+        } else if (value instanceof Short) {
+            ensureCapacity(3);
+            buffer.put(SHORT).putShort((Short) value);
+        } else if (value instanceof Byte) {
+            ensureCapacity(2);
+            buffer.put(BYTE).put((Byte) value);
+        } else if (value instanceof Character) {
+            ensureCapacity(3);
+            buffer.put(CHAR).putChar((Character) value);
+        } else if (value instanceof Enum) {
+            Enum<?> enumValue = (Enum<?>) value;
+            writeByte(ENUM);
+            writeClass(enumValue.getDeclaringClass(), false);
+            writeInt(enumValue.ordinal());
+        } else if (value instanceof UUID) {
+            UUID uuid = (UUID) value;
+            ensureCapacity(17);
+            buffer.put(BinaryFormat.UUID).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof BigDecimal) {
+            BigDecimal bigDecimal = (BigDecimal) value;
+            writeByte(BIG_DECIMAL);
+            writeBytes(bigDecimal.unscaledValue().toByteArray());
+            writeInt(bigDecimal.scale());
+        } else if (value instanceof BigInteger) {
+            writeByte(BIG_INTEGER);
+            writeBytes(((BigInteger) value).toByteArray());
+        } else if (value instanceof Date) {
+            writeByte(DATE);
+            writeClass(value.getClass(), false);
+            writeLong(((Date) value).getTime());
+        } else if (value instanceof Calendar) {
+            Calendar calendar = (Calendar) value;
+            writeByte(CALENDAR);
+            writeLong(calendar.getTimeInMillis());
+            writeString(calendar.getTimeZone().getID());
+        } else if (value instanceof TimeZone) {
+            writeByte(TIME_ZONE);
+            writeString(((TimeZone) value).getID());
+        } else if (value instanceof ZoneId) {
+            writeByte(ZONE_ID);
+            writeString(((ZoneId) value).getId());
+        } else if (value instanceof TemporalAccessor || value instanceof TemporalAmount) {
+            // java.time values can be parsed from their string representation
+            writeByte(TEMPORAL);
+            writeClass(value.getClass(), false);
+            writeString(value.toString());
+        } else if (value instanceof Optional) {
+            writeByte(OPTIONAL);
+            writeValue(((Optional<?>) value).orElse(null));
+        } else if (value instanceof OptionalInt) {
+            OptionalInt optional = (OptionalInt) value;
+            writeByte(OPTIONAL_INT);
+            writeValue(optional.isPresent() ? optional.getAsInt() : null);
+        } else if (value instanceof OptionalLong) {
+            OptionalLong optional = (OptionalLong) value;
+            writeByte(OPTIONAL_LONG);
+            writeValue(optional.isPresent() ? optional.getAsLong() : null);
+        } else if (value instanceof OptionalDouble) {
+            OptionalDouble optional = (OptionalDouble) value;
+            writeByte(OPTIONAL_DOUBLE);
+            writeValue(optional.isPresent() ? optional.getAsDouble() : null);
+        } else if (Proxy.isProxyClass(value.getClass())) {
+            throw new UnsupportedValueException("Lazy values cannot be encoded", value.getClass().getInterfaces()[0]);
+        } else {
+            writeComposite(value);
+        }
+    }
+
+    /**
+     * @return Classes of the encoded values, indexed by their ids.
+     */
+    Class<?>[] getClasses() {
+        return classes.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * @return Fields of the classes written field by field, indexed by ids of the classes; null for other classes.
+     */
+    Field[][] getFields() {
+        Field[][] result = new Field[classes.size()][];
+        for (int i = 0; i < result.length; i++) {
+            if (fieldByFieldClasses.contains(classes.get(i))) {
+                result[i] = ObjectFields.of(classes.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the class table, assigning classes their ids in order of appearance.
+     */
+    void writeClassTable() {
+        writeInt(classes.size());
+        for (Class<?> type : classes) {
+            writeString(type.getName());
+            if (fieldByFieldClasses.contains(type)) {
+                Field[] fields = ObjectFields.of(type);
+                writeInt(fields.length);
+                for (Field field : fields) {
+                    writeString(field.getName());
+                }
+            } else {
+                writeInt(-1);
+            }
+        }
+    }
+
+    /**
+     * Writes a value made of other values, tracking the values being written to detect cycles,
+     * which would otherwise be followed until the stack overflows.
+     */
+    private void writeComposite(Object value) {
+        if (!enclosingValues.add(value)) {
+            throw new UnsupportedValueException("Values with cyclic references cannot be encoded", value.getClass());
+        }
+        try {
+            if (value instanceof Map) {
+                writeMap((Map<?, ?>) value);
+            } else if (value instanceof Collection) {
+                writeCollection((Collection<?>) value);
+            } else if (value.getClass().isArray()) {
+                writeArray(value);
+            } else {
+                writeObject(value);
+            }
+        } finally {
+            enclosingValues.remove(value);
+        }
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        ObjectConstructors.require(map.getClass());
+        writeByte(MAP);
+        writeClass(map.getClass(), false);
+        writeInt(map.size());
+        try {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } catch (UnsupportedValueException e) {
+            e.prependElement();
+            throw e;
+        }
+    }
+
+    private void writeCollection(Collection<?> collection) {
+        ObjectConstructors.require(collection.getClass());
+        writeByte(COLLECTION);
+        writeClass(collection.getClass(), false);
+        writeInt(collection.size());
+        try {
+            for (Object element : collection) {
+                writeValue(element);
+            }
+        } catch (UnsupportedValueException e) {
+            e.prependElement();
+            throw e;
+        }
+    }
+
+    private void writeArray(Object array) {
+        Class<?> componentType = array.getClass().getComponentType();
+        if (componentType.isPrimitive()) {
+            writeByte(PRIMITIVE_ARRAY);
+            writeClass(array.getClass(), false);
+            writePrimitiveArray(array, componentType);
+        } else {
+            Object[] elements = (Object[]) array;
+            writeByte(ARRAY);
+            writeClass(array.getClass(), false);
+            writeInt(elements.length);
+            try {
+                for (Object element : elements) {
+                    writeValue(element);
+                }
+            } catch (UnsupportedValueException e) {
+                e.prependElement();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes components of a primitive array in bulk, so they can be read back in bulk.
+     */
+    private void writePrimitiveArray(Object array, Class<?> componentType) {
+        if (componentType == int.class) {
+            int[] values = (int[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 4);
+            buffer.asIntBuffer().put(values);
+            advance(values.length * 4);
+        } else if (componentType == long.class) {
+            long[] values = (long[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 8);
+            buffer.asLongBuffer().put(values);
+            advance(values.length * 8);
+        } else if (componentType == double.class) {
+            double[] values = (double[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 8);
+            buffer.asDoubleBuffer().put(values);
+            advance(values.length * 8);
+        } else if (componentType == float.class) {
+            float[] values = (float[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 4);
+            buffer.asFloatBuffer().put(values);
+            advance(values.length * 4);
+        } else if (componentType == short.class) {
+            short[] values = (short[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 2);
+            buffer.asShortBuffer().put(values);
+            advance(values.length * 2);
+        } else if (componentType == char.class) {
+            char[] values = (char[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length * 2);
+            buffer.asCharBuffer().put(values);
+            advance(values.length * 2);
+        } else if (componentType == byte.class) {
+            writeBytes((byte[]) array);
+        } else {
+            boolean[] values = (boolean[]) array;
+            writeInt(values.length);
+            ensureCapacity(values.length);
+            for (boolean value : values) {
+                buffer.put(value ? TRUE : FALSE);
+            }
+        }
+    }
+
+    private void writeObject(Object value) {
+        Class<?> type = value.getClass();
+        Field[] fields = ObjectFields.of(type);
+        if (fields == null) {
+            throw new UnsupportedValueException("Values of class cannot be encoded", type);
+        }
+        ObjectConstructors.require(type);
+        writeByte(OBJECT);
+        writeClass(type, true);
+        for (Field field : fields) {
+            try {
+                writeValue(field.get(value));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read field: " + field, e);
+            } catch (UnsupportedValueException e) {
+                e.prependField(field.getName());
+                throw e;
+            }
+        }
+    }
+
+    private void writeClass(Class<?> type, boolean fieldByField) {
+        Integer id = classIds.get(type);
+        if (id == null) {
+            id = classes.size();
+            classIds.put(type, id);
+            classes.add(type);
+        }
+        if (fieldByField) {
+            fieldByFieldClasses.add(type);
+        }
+        writeInt(id);
+    }
+
+    void writeString(String value) {
+        int length = value.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        ensureCapacity(5 + (latin1 ? length : length * 2));
+        buffer.put(latin1 ? LATIN1 : UTF16).putInt(length);
+        if (latin1) {
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                buffer.putChar(value.charAt(i));
+            }
+        }
+    }
+
+    private void writeBytes(byte[] values) {
+        writeInt(values.length);
+        ensureCapacity(values.length);
+        buffer.put(values);
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer.put(value);
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        buffer.putLong(value);
+    }
+
+    private void advance(int bytes) {
+        ((Buffer) buffer).position(buffer.position() + bytes);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            ((Buffer) buffer).flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Layout of fixture corpus files. All numbers are big-endian.
+ * <pre>
+ * header:      magic (int), version (int), record count (int), class table offset (long), index offset (long)
+ * records:     tagged values, one after another
+ * class table: class count (int), then for each class: name (string), field count (int, -1 for classes not
+ *              written field by field), field names (strings)
+ * index:       offsets of records (long), one per record
+ * </pre>
+ * Each value starts with a tag byte. Strings are written as a length and either Latin-1 bytes or UTF-16 chars.
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x46584331;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+    static final int CLASS_TABLE_OFFSET_POSITION = 12;
+    static final int INDEX_OFFSET_POSITION = 20;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte BYTE = 3;
+    static final byte SHORT = 4;
+    static final byte CHAR = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte ENUM = 11;
+    static final byte OBJECT = 12;
+    static final byte ARRAY = 13;
+    static final byte PRIMITIVE_ARRAY = 14;
+    static final byte COLLECTION = 15;
+    static final byte MAP = 16;
+    static final byte OPTIONAL = 17;
+    static final byte OPTIONAL_INT = 18;
+    static final byte OPTIONAL_LONG = 19;
+    static final byte OPTIONAL_DOUBLE = 20;
+    static final byte UUID = 21;
+    static final byte BIG_INTEGER = 22;
+    static final byte BIG_DECIMAL = 23;
+    static final byte DATE = 24;
+    static final byte CALENDAR = 25;
+    static final byte TIME_ZONE = 26;
+    static final byte ZONE_ID = 27;
+    static final byte TEMPORAL = 28;
+
+    static final byte LATIN1 = 0;
+    static final byte UTF16 = 1;
+
+    private BinaryFormat() {
+    }
+
+}
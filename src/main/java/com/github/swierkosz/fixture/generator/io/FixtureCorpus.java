@@ -0,0 +1,124 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads records of a fixture corpus file written by {@link FixtureCorpusWriter}. The file is memory-mapped,
+ * so opening it takes time independent of its size and its pages are shared through the page cache
+ * by all processes reading it. Records are decoded on demand, each call of {@link #get(int)} returning a new object.
+ * Primitive arrays and strings are copied from the mapped file in bulk.
+ * <p>
+ * A corpus can be safely read by multiple threads. Fields of the classes of its records must not have changed
+ * since the corpus was written.
+ *
+ * @param <T> Type of the records.
+ */
+public class FixtureCorpus<T> implements Closeable {
+
+    private final Class<T> type;
+    private final FileChannel channel;
+    private final ByteBuffer index;
+    private final BinaryDecoder decoder;
+    private final int size;
+
+    private FixtureCorpus(Class<T> type, FileChannel channel, ByteBuffer buffer) {
+        this.type = type;
+        this.channel = channel;
+        if (buffer.limit() < BinaryFormat.HEADER_SIZE || buffer.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a fixture corpus file");
+        }
+        if (buffer.getInt(4) != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported version of fixture corpus file: " + buffer.getInt(4));
+        }
+        this.size = buffer.getInt(8);
+        int classTableOffset = (int) buffer.getLong(BinaryFormat.CLASS_TABLE_OFFSET_POSITION);
+        int indexOffset = (int) buffer.getLong(BinaryFormat.INDEX_OFFSET_POSITION);
+
+        ByteBuffer classTable = buffer.duplicate();
+        ((Buffer) classTable).position(classTableOffset).limit(indexOffset);
+        ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : Thread.currentThread().getContextClassLoader();
+        this.decoder = BinaryDecoder.create(buffer, classTable, classLoader);
+
+        ByteBuffer index = buffer.duplicate();
+        ((Buffer) index).position(indexOffset);
+        this.index = index.slice();
+    }
+
+    /**
+     * Opens a corpus file, mapping it into memory.
+     *
+     * @param path Path of the corpus file.
+     * @param type Type of the records.
+     * @param <T>  Type of the records.
+     * @return The opened corpus.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a fixture corpus file or is larger than 2 GiB.
+     */
+    public static <T> FixtureCorpus<T> open(Path path, Class<T> type) throws IOException {
+        requireNonNull(path, "'path' must not be null");
+        requireNonNull(type, "'type' must not be null");
+        FileChannel channel = FileChannel.open(path, READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Fixture corpus files larger than 2 GiB are not supported");
+            }
+            return new FixtureCorpus<>(type, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of records in the corpus.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes a record of the corpus.
+     *
+     * @param index Index of the record.
+     * @return A new instance equal to the written one.
+     * @throws IndexOutOfBoundsException if there is no record at the given index.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return type.cast(decoder.readValue((int) this.index.getLong(index * 8)));
+    }
+
+    /**
+     * Closes the file. The mapping is released once the corpus is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
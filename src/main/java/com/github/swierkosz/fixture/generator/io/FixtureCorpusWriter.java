@@ -0,0 +1,146 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes objects into a fixture corpus file, which can be memory-mapped and read record by record
+ * using {@link FixtureCorpus}. Objects are encoded in a compact binary format, field by field, the same way
+ * as they are written by {@link JsonLinesWriter}. Offsets of records are kept in memory until the writer
+ * is closed, when they are written out as an index, along with the table of encoded classes.
+ * <p>
+ * Objects, collections and maps are read back using constructors without parameters of their classes and records
+ * using their canonical constructors. This holds for all collections and maps created by the fixture generator.
+ * Objects of other classes, lazy values, objects with cyclic references and objects of JDK classes without
+ * accessible fields, other than the commonly generated ones, cannot be written. In particular, immutable classes,
+ * which can only be created by passing all their fields to a constructor, can only be written as records.
+ * Collections and maps without a constructor without parameters, e.g. unmodifiable ones, cannot be written either.
+ * <p>
+ * Corpus files are memory-mapped as a whole, so they cannot be larger than 2 GiB. Records that would not fit,
+ * along with the index, are rejected as they are written.
+ */
+public class FixtureCorpusWriter implements Closeable {
+
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final String TOO_LARGE = "Fixture corpus files larger than 2 GiB are not supported";
+
+    private final FileChannel channel;
+    private final long maxSize;
+    private final BinaryEncoder encoder = new BinaryEncoder();
+    private long[] offsets = new long[INITIAL_INDEX_CAPACITY];
+    private int count;
+    private long position = BinaryFormat.HEADER_SIZE;
+
+    /**
+     * Creates a writer of a new corpus file, replacing the existing one.
+     *
+     * @param path Path of the corpus file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public FixtureCorpusWriter(Path path) throws IOException {
+        this(path, Integer.MAX_VALUE);
+    }
+
+    FixtureCorpusWriter(Path path, long maxSize) throws IOException {
+        this.channel = FileChannel.open(requireNonNull(path, "'path' must not be null"), CREATE, TRUNCATE_EXISTING, WRITE);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Writes an object as the next record of the corpus.
+     *
+     * @throws UnsupportedValueException if the object, or any object it refers to, cannot be written.
+     * @throws IllegalArgumentException  if the corpus file would become larger than 2 GiB. The record is not written.
+     */
+    public void write(Object value) throws IOException {
+        if (count == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Corpus cannot contain more than " + Integer.MAX_VALUE + " records");
+        }
+        encoder.clear();
+        encoder.writeValue(value);
+        ByteBuffer record = encoder.getBuffer();
+        if (position + record.remaining() + (count + 1L) * Long.BYTES > maxSize) {
+            throw new IllegalArgumentException(TOO_LARGE);
+        }
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[count++] = position;
+        writeBuffer(record);
+    }
+
+    /**
+     * @return Number of records written so far.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes out the class table and the index of records, then closes the file.
+     *
+     * @throws IllegalStateException if the class table does not fit into 2 GiB along with the records.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            long classTableOffset = position;
+            encoder.clear();
+            encoder.writeClassTable();
+            ByteBuffer classTable = encoder.getBuffer();
+            if (position + classTable.remaining() + (long) count * Long.BYTES > maxSize) {
+                throw new IllegalStateException(TOO_LARGE);
+            }
+            writeBuffer(classTable);
+
+            long indexOffset = position;
+            encoder.clear();
+            for (int i = 0; i < count; i++) {
+                encoder.writeLong(offsets[i]);
+            }
+            writeBuffer(encoder.getBuffer());
+
+            ByteBuffer header = ByteBuffer.allocate(BinaryFormat.HEADER_SIZE);
+            header.putInt(BinaryFormat.MAGIC).putInt(BinaryFormat.VERSION).putInt(count)
+                    .putLong(classTableOffset).putLong(indexOffset);
+            ((Buffer) header).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An encoded copy of an object, which can be restored any number of times, each time as a new deep copy.
+ * Objects are encoded the same way as records of {@link FixtureCorpusWriter}, so the same restrictions apply.
+ * Snapshots are immutable and can be safely shared between threads.
+ */
+public final class FixtureSnapshot {
+
+    private final byte[] bytes;
+    private final Class<?>[] classes;
+    private final Field[][] fields;
+
+    private FixtureSnapshot(byte[] bytes, Class<?>[] classes, Field[][] fields) {
+        this.bytes = bytes;
+        this.classes = classes;
+        this.fields = fields;
+    }
+
+    /**
+     * Encodes an object.
+     *
+     * @param value The object, may be null.
+     * @return Snapshot of the object.
+     * @throws UnsupportedValueException if the object, or any object it refers to, cannot be encoded.
+     */
+    public static FixtureSnapshot of(Object value) {
+        BinaryEncoder encoder = new BinaryEncoder();
+        encoder.writeValue(value);
+        ByteBuffer buffer = encoder.getBuffer();
+        byte[] bytes = Arrays.copyOf(buffer.array(), buffer.limit());
+        return new FixtureSnapshot(bytes, encoder.getClasses(), encoder.getFields());
+    }
+
+    /**
+     * Decodes a new copy of the object.
+     *
+     * @return A new instance equal to the encoded one.
+     * @throws IllegalStateException if the object cannot be decoded, e.g. its collection has no constructor
+     *                               without parameters.
+     */
+    public Object restore() {
+        return new BinaryDecoder(ByteBuffer.wrap(bytes), classes, fields).readValue(0);
+    }
+
+    /**
+     * @return Number of bytes of the encoded object.
+     */
+    public int getSize() {
+        return bytes.length;
+    }
+
+}
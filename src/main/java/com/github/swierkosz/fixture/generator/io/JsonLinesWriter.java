@@ -0,0 +1,329 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes objects as JSON lines, one object per line, to a channel. Text is encoded into a fixed size buffer,
+ * which is written out whenever it fills up, so memory used by the writer does not depend on the number of objects.
+ * <p>
+ * Objects are written field by field, including fields of superclasses, the same fields that are populated
+ * by the fixture generator. Collections and arrays are written as JSON arrays, maps as JSON objects with keys
+ * converted to strings. Dates and calendars are written as epoch milliseconds; strings, characters, enums, UUIDs,
+ * java.time values and other JDK types without accessible fields are written as strings.
+ * <p>
+ * A field hidden by a field of the same name declared in a subclass is written under its name qualified
+ * with the simple name of its class, e.g. {@code "Parent.name"}, so keys of an object are unique. Objects with
+ * cyclic references cannot be written.
+ */
+public class JsonLinesWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final ClassValue<String[]> FIELD_NAMES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            return nameFields(ObjectFields.of(type));
+        }
+    };
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final Set<Object> enclosingValues = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public JsonLinesWriter(WritableByteChannel channel) {
+        this.channel = requireNonNull(channel, "'channel' must not be null");
+    }
+
+    /**
+     * Writes an object as a single line of JSON.
+     *
+     * @throws UnsupportedValueException if the object refers to itself, directly or not. Nothing is written then.
+     */
+    public void write(Object value) throws IOException {
+        line.setLength(0);
+        appendValue(value);
+        line.append('\n');
+        CharBuffer chars = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                writeBuffer();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    /**
+     * Writes out buffered text and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof UUID
+                || value instanceof TemporalAccessor || value instanceof TemporalAmount || value instanceof ZoneId) {
+            appendString(value.toString());
+        } else if (value instanceof Boolean) {
+            line.append(value);
+        } else if (value instanceof Number) {
+            appendNumber((Number) value);
+        } else if (value instanceof Enum) {
+            appendString(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            line.append(((Date) value).getTime());
+        } else if (value instanceof Calendar) {
+            line.append(((Calendar) value).getTimeInMillis());
+        } else if (value instanceof TimeZone) {
+            appendString(((TimeZone) value).getID());
+        } else if (value instanceof Optional) {
+            appendValue(((Optional<?>) value).orElse(null));
+        } else if (value instanceof OptionalInt) {
+            OptionalInt optional = (OptionalInt) value;
+            appendValue(optional.isPresent() ? optional.getAsInt() : null);
+        } else if (value instanceof OptionalLong) {
+            OptionalLong optional = (OptionalLong) value;
+            appendValue(optional.isPresent() ? optional.getAsLong() : null);
+        } else if (value instanceof OptionalDouble) {
+            OptionalDouble optional = (OptionalDouble) value;
+            appendValue(optional.isPresent() ? optional.getAsDouble() : null);
+        } else {
+            appendComposite(value);
+        }
+    }
+
+    /**
+     * Appends a value made of other values, tracking the values being appended to detect cycles,
+     * which would otherwise be followed until the stack overflows.
+     */
+    private void appendComposite(Object value) {
+        if (!enclosingValues.add(value)) {
+            throw new UnsupportedValueException("Values with cyclic references cannot be written", value.getClass());
+        }
+        try {
+            if (value instanceof Map) {
+                appendMap((Map<?, ?>) value);
+            } else if (value instanceof Iterable) {
+                appendIterable((Iterable<?>) value);
+            } else if (value.getClass().isArray()) {
+                appendArray(value);
+            } else {
+                appendObject(value);
+            }
+        } finally {
+            enclosingValues.remove(value);
+        }
+    }
+
+    private void appendNumber(Number value) {
+        if (value instanceof Double || value instanceof Float) {
+            double number = value.doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                // Not representable as JSON numbers
+                appendString(value.toString());
+                return;
+            }
+        }
+        line.append(value);
+    }
+
+    private void appendMap(Map<?, ?> map) {
+        line.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            Object key = entry.getKey();
+            appendString(key instanceof Enum ? ((Enum<?>) key).name() : String.valueOf(key));
+            line.append(':');
+            appendElement(entry.getValue());
+        }
+        line.append('}');
+    }
+
+    private void appendIterable(Iterable<?> iterable) {
+        line.append('[');
+        boolean first = true;
+        for (Object element : iterable) {
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            appendElement(element);
+        }
+        line.append(']');
+    }
+
+    private void appendArray(Object array) {
+        line.append('[');
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendElement(Array.get(array, i));
+        }
+        line.append(']');
+    }
+
+    private void appendElement(Object element) {
+        try {
+            appendValue(element);
+        } catch (UnsupportedValueException e) {
+            e.prependElement();
+            throw e;
+        }
+    }
+
+    private void appendObject(Object value) {
+        Field[] fields = ObjectFields.of(value.getClass());
+        if (fields == null) {
+            appendString(value.toString());
+            return;
+        }
+        String[] names = FIELD_NAMES.get(value.getClass());
+        line.append('{');
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendString(names[i]);
+            line.append(':');
+            try {
+                appendValue(fields[i].get(value));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read field: " + fields[i], e);
+            } catch (UnsupportedValueException e) {
+                e.prependField(names[i]);
+                throw e;
+            }
+        }
+        line.append('}');
+    }
+
+    /**
+     * @return Names of fields, where fields hidden by fields of subclasses are qualified with their class name.
+     */
+    private static String[] nameFields(Field[] fields) {
+        if (fields == null) {
+            return null;
+        }
+        String[] result = new String[fields.length];
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < fields.length; i++) {
+            String name = fields[i].getName();
+            // Fields of subclasses come first, so they keep plain names
+            result[i] = names.add(name) ? name : fields[i].getDeclaringClass().getSimpleName() + "." + name;
+        }
+        return result;
+    }
+
+    private void appendString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else if (!Character.isSurrogate(c)) {
+                        line.append(c);
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        line.append(c).append(value.charAt(++i));
+                    } else {
+                        // A lone surrogate cannot be encoded as UTF-8, JSON allows it escaped
+                        line.append("\\u").append(HEX_DIGITS[c >> 12]).append(HEX_DIGITS[(c >> 8) & 0xF])
+                                .append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Constructors of objects read back after being written, cached per class: the canonical constructor of records,
+ * and the constructor without parameters of other classes.
+ */
+final class ObjectConstructors {
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            return findConstructor(type);
+        }
+    };
+
+    private ObjectConstructors() {
+    }
+
+    /**
+     * @return Constructor of the class, or null if it has none that can be used.
+     */
+    static Constructor<?> of(Class<?> type) {
+        return CONSTRUCTORS.get(type);
+    }
+
+    /**
+     * @return Constructor of the class.
+     * @throws UnsupportedValueException if the class has no constructor that can be used.
+     */
+    static Constructor<?> require(Class<?> type) {
+        Constructor<?> constructor = CONSTRUCTORS.get(type);
+        if (constructor == null) {
+            throw new UnsupportedValueException("Values of class without a constructor without parameters cannot be encoded", type);
+        }
+        return constructor;
+    }
+
+    /**
+     * Records are constructed from the values of their fields, as their fields cannot be set.
+     */
+    static boolean isRecord(Class<?> type) {
+        return type.getSuperclass() != null
+                && type.getSuperclass().getName().equals("java.lang.Record");
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type) {
+        try {
+            Constructor<?> constructor;
+            if (isRecord(type)) {
+                // Fields of a record are declared in the order of its components
+                Field[] fields = ObjectFields.of(type);
+                if (fields == null) {
+                    return null;
+                }
+                Class<?>[] parameterTypes = new Class<?>[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    parameterTypes[i] = fields[i].getType();
+                }
+                constructor = type.getDeclaredConstructor(parameterTypes);
+            } else {
+                constructor = type.getDeclaredConstructor();
+            }
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
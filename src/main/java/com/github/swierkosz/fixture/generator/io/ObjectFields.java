@@ -0,0 +1,65 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fields of objects written and read field by field, cached per class.
+ */
+final class ObjectFields {
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return inspectFields(type);
+        }
+    };
+
+    private ObjectFields() {
+    }
+
+    /**
+     * @return Non-static, non-synthetic fields of a class and then of its superclasses, or null if they cannot be
+     * accessed, e.g. because the class belongs to an encapsulated JDK module.
+     */
+    static Field[] of(Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+    private static Field[] inspectFields(Class<?> type) {
+        List<Field> result = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    result.add(field);
+                }
+            }
+        }
+        Field[] fields = result.toArray(new Field[0]);
+        try {
+            AccessibleObject.setAccessible(fields, true);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return fields;
+    }
+
+}
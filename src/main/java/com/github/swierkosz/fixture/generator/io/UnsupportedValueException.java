@@ -0,0 +1,66 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Thrown when a value cannot be encoded into a snapshot or a corpus, because it could not be read back,
+ * or written as JSON lines.
+ * The message names the class of the offending value and the path of fields leading to it from the encoded
+ * object, where {@code []} stands for elements of arrays and collections, and for keys and values of maps.
+ */
+public class UnsupportedValueException extends IllegalArgumentException {
+
+    private final String reason;
+    private final Class<?> type;
+    private String path = "";
+
+    UnsupportedValueException(String reason, Class<?> type) {
+        super(reason);
+        this.reason = reason;
+        this.type = type;
+    }
+
+    /**
+     * @return Class of the value, which cannot be encoded.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return Path to the value from the encoded object, e.g. {@code orders[].customer}; empty for the object itself.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String getMessage() {
+        return reason + ": " + type.getName() + (path.isEmpty() ? "" : " at " + path);
+    }
+
+    /**
+     * Called while unwinding from the offending value, so the path is built from its end.
+     */
+    void prependField(String name) {
+        path = path.isEmpty() || path.startsWith("[") ? name + path : name + "." + path;
+    }
+
+    void prependElement() {
+        path = path.isEmpty() || path.startsWith("[") ? "[]" + path : "[]." + path;
+    }
+
+}
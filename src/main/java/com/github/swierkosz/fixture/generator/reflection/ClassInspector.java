@@ -16,6 +16,7 @@ package com.github.swierkosz.fixture.generator.reflection;
  */
 
 import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.util.CacheStatistics;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
@@ -29,14 +30,51 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
-import static com.github.swierkosz.fixture.generator.reflection.ReflectionUtils.setValue;
 import static java.lang.reflect.Modifier.isStatic;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 
 public class ClassInspector {
 
+    private final ConcurrentMap<TypeInformation, List<FieldInformation>> fieldCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TypeInformation, List<ConstructorInformation>> constructorCache = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * Lists non-static fields of a type and all of its superclasses, with type variables resolved.
+     * The result is computed once per type and cached, hence it is unmodifiable.
+     */
     public List<FieldInformation> listFieldsFor(TypeInformation typeInformation) {
+        return getCached(fieldCache, typeInformation, ClassInspector::inspectFields);
+    }
+
+    /**
+     * Lists declared constructors of a type, with type variables resolved.
+     * The result is computed once per type and cached, hence it is unmodifiable.
+     */
+    public List<ConstructorInformation> listConstructorsFor(TypeInformation typeInformation) {
+        return getCached(constructorCache, typeInformation, ClassInspector::inspectConstructors);
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private <T> List<T> getCached(ConcurrentMap<TypeInformation, List<T>> cache, TypeInformation typeInformation, Function<TypeInformation, List<T>> inspector) {
+        List<T> result = cache.get(typeInformation);
+        if (result != null) {
+            statistics.recordHit();
+            return result;
+        }
+        statistics.recordMiss();
+        return cache.computeIfAbsent(typeInformation, key -> unmodifiableList(inspector.apply(key)));
+    }
+
+    private static List<FieldInformation> inspectFields(TypeInformation typeInformation) {
         List<FieldInformation> fields = new ArrayList<>();
         Map<TypeVariable<?>, TypeInformation> mapping = createMappingForTypeInformation(typeInformation);
 
@@ -68,7 +106,7 @@ public class ClassInspector {
 
                 FieldInformation fieldInformation = new FieldInformation(
                         field.getName(),
-                        (target, value) -> setValue(target, field, value),
+                        new FieldSetter(field),
                         resolve(field.getGenericType(), mapping));
 
                 fields.add(fieldInformation);
@@ -80,7 +118,7 @@ public class ClassInspector {
         return fields;
     }
 
-    public List<ConstructorInformation> listConstructorsFor(TypeInformation typeInformation) {
+    private static List<ConstructorInformation> inspectConstructors(TypeInformation typeInformation) {
         Map<TypeVariable<?>, TypeInformation> mapping = createMappingForTypeInformation(typeInformation);
 
         Constructor<?>[] constructors = typeInformation.getRawType().getDeclaredConstructors();
@@ -129,25 +167,24 @@ public class ClassInspector {
 
     private static TypeInformation resolveClass(Class<?> aClass, Map<TypeVariable<?>, TypeInformation> mapping) {
         if (aClass.isArray()) {
-            List<TypeInformation> typeParameters = new ArrayList<>();
-            typeParameters.add(resolve(aClass.getComponentType(), mapping));
-            return new TypeInformationImpl(aClass, typeParameters);
+            return TypeInterner.intern(aClass, singletonList(resolve(aClass.getComponentType(), mapping)));
         } else {
-            return new TypeInformationImpl(aClass);
+            return TypeInterner.intern(aClass);
         }
     }
 
     private static TypeInformation resolveParametrizedType(ParameterizedType parameterizedType, Map<TypeVariable<?>, TypeInformation> mapping) {
-        List<TypeInformation> typeParameters = new ArrayList<>();
-        for (Type actualTypeArgument : parameterizedType.getActualTypeArguments()) {
+        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+        List<TypeInformation> typeParameters = new ArrayList<>(actualTypeArguments.length);
+        for (Type actualTypeArgument : actualTypeArguments) {
             typeParameters.add(resolve(actualTypeArgument, mapping));
         }
-        return new TypeInformationImpl((Class<?>) parameterizedType.getRawType(), typeParameters);
+        return TypeInterner.intern((Class<?>) parameterizedType.getRawType(), typeParameters);
     }
 
     private static TypeInformation resolveGenericArrayType(GenericArrayType genericArrayType, Map<TypeVariable<?>, TypeInformation> mapping) {
         TypeInformation componentType = resolve(genericArrayType.getGenericComponentType(), mapping);
         Class<?> arrayClass = Array.newInstance(componentType.getRawType(), 0).getClass();
-        return new TypeInformationImpl(arrayClass, singletonList(componentType));
+        return TypeInterner.intern(arrayClass, singletonList(componentType));
     }
 }
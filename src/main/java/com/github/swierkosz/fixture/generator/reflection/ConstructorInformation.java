@@ -28,6 +28,7 @@ public class ConstructorInformation {
     private final Constructor<?> constructor;
     private final List<TypeInformation> parameterTypes;
     private final List<String> parameterNames;
+    private volatile ConstructorInvoker invoker;
 
     public ConstructorInformation(Constructor<?> constructor, List<TypeInformation> parameterTypes, List<String> parameterNames) {
         this.constructor = constructor;
@@ -47,6 +48,18 @@ public class ConstructorInformation {
         return parameterNames;
     }
 
+    /**
+     * Creates a new instance using an invoker, which is prepared on first use and reused afterwards.
+     */
+    public Object newInstance(Object[] args) throws Exception {
+        ConstructorInvoker current = invoker;
+        if (current == null) {
+            current = new ConstructorInvoker(constructor);
+            invoker = current;
+        }
+        return current.newInstance(args);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,67 @@
+package com.github.swierkosz.fixture.generator.reflection;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates instances using a method handle, which is unreflected once and spread over an argument array.
+ * Falls back to reflective Constructor.newInstance when access rules do not allow obtaining a handle.
+ * Either way, anything thrown by the constructor is wrapped in InvocationTargetException.
+ */
+public class ConstructorInvoker {
+
+    private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Constructor<?> constructor;
+    private final MethodHandle handle;
+
+    public ConstructorInvoker(Constructor<?> constructor) {
+        this.constructor = constructor;
+        this.handle = unreflectConstructor(constructor);
+    }
+
+    public Object newInstance(Object[] args) throws Exception {
+        if (handle == null) {
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        }
+        try {
+            return handle.invokeExact(args);
+        } catch (Throwable e) {
+            // Wrapped as Constructor.newInstance does, so callers can tell constructor failures from access failures
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            return MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asFixedArity()
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(GENERIC_INVOKER_TYPE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.swierkosz.fixture.generator.reflection;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+
+import static com.github.swierkosz.fixture.generator.reflection.ReflectionUtils.setValue;
+
+/**
+ * Assigns values to a field using a method handle, which is unreflected once and reused for every assignment.
+ * The handle is adapted to accept untyped arguments, so primitive fields are unboxed directly by the handle.
+ * The field is expected to be made accessible beforehand.
+ * Falls back to reflective access when a handle cannot be obtained for the field.
+ */
+public class FieldSetter implements BiConsumer<Object, Object> {
+
+    private static final MethodType GENERIC_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle handle;
+
+    public FieldSetter(Field field) {
+        this.field = field;
+        this.handle = unreflectSetter(field);
+    }
+
+    @Override
+    public void accept(Object target, Object value) {
+        if (handle == null) {
+            setValue(target, field, value);
+            return;
+        }
+        try {
+            handle.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw new UnableToSetFieldException("Failed to set value of field: " + field, e);
+        }
+    }
+
+    private static MethodHandle unreflectSetter(Field field) {
+        try {
+            return MethodHandles.lookup()
+                    .unreflectSetter(field)
+                    .asType(GENERIC_SETTER_TYPE);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FieldSetter that = (FieldSetter) o;
+        return field.equals(that.field);
+    }
+
+    @Override
+    public int hashCode() {
+        return field.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FieldSetter{" +
+                "field=" + field +
+                '}';
+    }
+}
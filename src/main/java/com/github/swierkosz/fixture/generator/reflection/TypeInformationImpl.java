@@ -23,20 +23,38 @@ import java.util.Objects;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 
+/**
+ * Default implementation of TypeInformation. Canonical instances are obtained from {@link TypeInterner},
+ * which allows comparing them by reference and indexing them by {@link #getId()}.
+ * Instances created directly are compared structurally.
+ */
 public class TypeInformationImpl implements TypeInformation {
 
+    /**
+     * Id of instances, which were not obtained from {@link TypeInterner}.
+     */
+    public static final int NOT_INTERNED = -1;
+
     private final Class<?> rawType;
     private final List<TypeInformation> typeParameters;
+    private final int hash;
+    private final int id;
 
     public TypeInformationImpl(Class<?> rawType, List<TypeInformation> typeParameters) {
-        this.rawType = rawType;
-        this.typeParameters = unmodifiableList(typeParameters);
+        this(rawType, typeParameters, NOT_INTERNED);
     }
 
     public TypeInformationImpl(Class<?> rawType) {
         this(rawType, emptyList());
     }
 
+    TypeInformationImpl(Class<?> rawType, List<TypeInformation> typeParameters, int id) {
+        this.rawType = rawType;
+        this.typeParameters = unmodifiableList(typeParameters);
+        this.hash = Objects.hash(rawType, typeParameters);
+        this.id = id;
+    }
+
     @Override
     public Class<?> getRawType() {
         return rawType;
@@ -47,6 +65,13 @@ public class TypeInformationImpl implements TypeInformation {
         return typeParameters;
     }
 
+    /**
+     * @return Small, non-negative number unique to a canonical instance, or {@link #NOT_INTERNED}.
+     */
+    public int getId() {
+        return id;
+    }
+
     @Override
     public boolean is(Class<?> other) {
         return rawType.equals(other);
@@ -61,13 +86,18 @@ public class TypeInformationImpl implements TypeInformation {
             return false;
         }
         TypeInformationImpl that = (TypeInformationImpl) o;
-        return Objects.equals(rawType, that.rawType) &&
+        if (id != NOT_INTERNED && that.id != NOT_INTERNED) {
+            // Canonical instances are equal only to themselves
+            return false;
+        }
+        return hash == that.hash &&
+                Objects.equals(rawType, that.rawType) &&
                 Objects.equals(typeParameters, that.typeParameters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rawType, typeParameters);
+        return hash;
     }
 
     @Override
@@ -0,0 +1,146 @@
+package com.github.swierkosz.fixture.generator.reflection;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Provides canonical TypeInformation instances, so equal types are represented by the same instance.
+ * <p>
+ * Instances are held in a ClassValue of the least visible class they refer to, i.e. the one whose class loader is
+ * a descendant of the loaders of the remaining classes, as a class loader keeps its ancestors reachable anyway.
+ * So interned types do not prevent classes from being unloaded. Types referring to classes of unrelated loaders,
+ * e.g. of two web applications, have no such class and are not interned.
+ * Each canonical instance has its hash code computed once and a small integer id,
+ * which can be used for array-indexed lookups.
+ */
+public final class TypeInterner {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private static final ClassValue<Entry> ENTRIES = new ClassValue<Entry>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return new Entry(type);
+        }
+    };
+
+    private TypeInterner() {
+        // Utility class
+    }
+
+    /**
+     * @return The canonical instance of a type without type parameters.
+     */
+    public static TypeInformationImpl intern(Class<?> rawType) {
+        return ENTRIES.get(rawType).plain;
+    }
+
+    /**
+     * @return The canonical instance of a type with given type parameters.
+     */
+    public static TypeInformationImpl intern(Class<?> rawType, List<TypeInformation> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return intern(rawType);
+        }
+        List<TypeInformation> canonicalTypeParameters = typeParameters.size() == 1
+                ? singletonList(intern(typeParameters.get(0)))
+                : internAll(typeParameters);
+        TypeInformationImpl key = new TypeInformationImpl(rawType, canonicalTypeParameters);
+        Class<?> owner = findLeastVisibleClass(key);
+        if (owner == null) {
+            return key;
+        }
+        ConcurrentMap<TypeInformation, TypeInformationImpl> parameterized = ENTRIES.get(owner).parameterized;
+        TypeInformationImpl result = parameterized.get(key);
+        if (result == null) {
+            result = parameterized.computeIfAbsent(key,
+                    type -> new TypeInformationImpl(rawType, canonicalTypeParameters, NEXT_ID.getAndIncrement()));
+        }
+        return result;
+    }
+
+    /**
+     * @return The canonical instance of a type equal to the given one.
+     */
+    public static TypeInformationImpl intern(TypeInformation type) {
+        if (type instanceof TypeInformationImpl && ((TypeInformationImpl) type).getId() != TypeInformationImpl.NOT_INTERNED) {
+            return (TypeInformationImpl) type;
+        }
+        return intern(type.getRawType(), type.getTypeParameters());
+    }
+
+    private static List<TypeInformation> internAll(List<TypeInformation> types) {
+        List<TypeInformation> result = new ArrayList<>(types.size());
+        for (TypeInformation type : types) {
+            result.add(intern(type));
+        }
+        return result;
+    }
+
+    /**
+     * @return The class of the type or of its type parameters whose class loader is a descendant of the loaders
+     * of all the remaining ones, or null if there is no such class.
+     */
+    private static Class<?> findLeastVisibleClass(TypeInformation type) {
+        Class<?> result = type.getRawType();
+        for (TypeInformation typeParameter : type.getTypeParameters()) {
+            Class<?> candidate = findLeastVisibleClass(typeParameter);
+            if (candidate == null) {
+                return null;
+            }
+            if (isAncestor(result.getClassLoader(), candidate.getClassLoader())) {
+                result = candidate;
+            } else if (!isAncestor(candidate.getClassLoader(), result.getClassLoader())) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAncestor(ClassLoader ancestor, ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+
+        private final TypeInformationImpl plain;
+        private final ConcurrentMap<TypeInformation, TypeInformationImpl> parameterized = new ConcurrentHashMap<>();
+
+        private Entry(Class<?> rawType) {
+            this.plain = new TypeInformationImpl(rawType, emptyList(), NEXT_ID.getAndIncrement());
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.swierkosz.fixture.generator.transformers;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * A transformer affecting only values of exactly one class, while returning values of other classes unchanged.
+ * Allows skipping the transformer for values of other classes altogether.
+ * <p>
+ * A subclass overriding {@code apply} of a targeted transformer, without overriding {@link #getTargetType()}
+ * along with it, may affect values of any class, so it is applied to all values.
+ */
+public interface TargetedTransformer {
+
+    /**
+     * @return The class of values affected by the transformer.
+     */
+    Class<?> getTargetType();
+
+}
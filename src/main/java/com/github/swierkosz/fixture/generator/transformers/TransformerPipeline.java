@@ -0,0 +1,130 @@
+package com.github.swierkosz.fixture.generator.transformers;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Applies transformers to generated values in the order they were registered.
+ * <p>
+ * Transformers implementing {@link TargetedTransformer} are indexed by their target class, so for each class
+ * of values a chain of only the transformers affecting it is composed once and reused. Values of classes
+ * without any matching transformer are returned as they are. When a transformer changes the class of a value,
+ * the remaining transformers are applied one by one, as the composed chain no longer matches the value.
+ */
+public class TransformerPipeline {
+
+    private static final Link[] EMPTY_CHAIN = new Link[0];
+    private static final ClassValue<Boolean> TARGETED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isTargeted(type);
+        }
+    };
+
+    private final Function<Object, Object>[] transformers;
+    private final Link[] untypedChain;
+    private final ConcurrentMap<Class<?>, Link[]> chains = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public TransformerPipeline(Collection<Function<Object, Object>> transformers) {
+        this.transformers = transformers.toArray(new Function[0]);
+        this.untypedChain = composeChain(null);
+    }
+
+    public boolean isEmpty() {
+        return transformers.length == 0;
+    }
+
+    /**
+     * @return true if any transformer may affect values of a given class.
+     */
+    public boolean transforms(Class<?> valueClass) {
+        return getChain(valueClass).length > 0;
+    }
+
+    public Object apply(Object value) {
+        if (transformers.length == 0) {
+            return value;
+        }
+        Class<?> valueClass = value == null ? null : value.getClass();
+        Link[] chain = valueClass == null ? untypedChain : getChain(valueClass);
+        for (Link link : chain) {
+            value = link.transformer.apply(value);
+            if (value == null ? valueClass != null : value.getClass() != valueClass) {
+                return applyRemaining(value, link.index + 1);
+            }
+        }
+        return value;
+    }
+
+    private Object applyRemaining(Object value, int fromIndex) {
+        for (int i = fromIndex; i < transformers.length; i++) {
+            value = transformers[i].apply(value);
+        }
+        return value;
+    }
+
+    private Link[] getChain(Class<?> valueClass) {
+        Link[] chain = chains.get(valueClass);
+        if (chain == null) {
+            chain = chains.computeIfAbsent(valueClass, this::composeChain);
+        }
+        return chain;
+    }
+
+    private Link[] composeChain(Class<?> valueClass) {
+        List<Link> result = new ArrayList<>();
+        for (int i = 0; i < transformers.length; i++) {
+            Function<Object, Object> transformer = transformers[i];
+            if (!(transformer instanceof TargetedTransformer) || !TARGETED.get(transformer.getClass())
+                    || valueClass != null && ((TargetedTransformer) transformer).getTargetType() == valueClass) {
+                result.add(new Link(i, transformer));
+            }
+        }
+        return result.isEmpty() ? EMPTY_CHAIN : result.toArray(EMPTY_CHAIN);
+    }
+
+    /**
+     * @return true if apply is declared by the same class as the target type, so it can be trusted to affect
+     * only values of that type.
+     */
+    private static boolean isTargeted(Class<?> type) {
+        try {
+            return type.getMethod("apply", Object.class).getDeclaringClass() == type.getMethod("getTargetType").getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static final class Link {
+
+        private final int index;
+        private final Function<Object, Object> transformer;
+
+        private Link(int index, Function<Object, Object> transformer) {
+            this.index = index;
+            this.transformer = transformer;
+        }
+
+    }
+
+}
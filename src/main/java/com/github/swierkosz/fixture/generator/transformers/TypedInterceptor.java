@@ -20,7 +20,7 @@ import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
-public class TypedInterceptor<T> implements Function<Object, Object> {
+public class TypedInterceptor<T> implements Function<Object, Object>, TargetedTransformer {
 
     private final Class<T> type;
     private final Consumer<T> interceptor;
@@ -30,6 +30,11 @@ public class TypedInterceptor<T> implements Function<Object, Object> {
         this.interceptor = requireNonNull(interceptor, "'interceptor' must not be null");
     }
 
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+
     @Override
     public Object apply(Object value) {
         if (value != null && value.getClass().equals(type)) {
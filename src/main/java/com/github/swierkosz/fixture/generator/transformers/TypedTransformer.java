@@ -19,7 +19,7 @@ import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
-public class TypedTransformer<T, U extends T> implements Function<Object, Object> {
+public class TypedTransformer<T, U extends T> implements Function<Object, Object>, TargetedTransformer {
 
     private final Class<T> type;
     private final Function<T, U> transformer;
@@ -29,6 +29,11 @@ public class TypedTransformer<T, U extends T> implements Function<Object, Object
         this.transformer = requireNonNull(transformer, "'transformer' must not be null");
     }
 
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+
     @Override
     public Object apply(Object value) {
         if (value != null && value.getClass().equals(type)) {
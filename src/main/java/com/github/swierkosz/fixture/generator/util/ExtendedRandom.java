@@ -18,8 +18,24 @@ package com.github.swierkosz.fixture.generator.util;
 import java.util.Collection;
 import java.util.Random;
 
+/**
+ * Random number generator used for generation of values.
+ * <p>
+ * Produces exactly the same sequences as java.util.Random, but keeps its state in a plain field instead of an
+ * AtomicLong, so it avoids atomic updates on every call. As a consequence it is not thread safe,
+ * which is fine as each instance is confined to generation of a single value.
+ */
 public class ExtendedRandom extends Random {
 
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Fields are assigned by setSeed, called from the constructor of Random, so they must not have initializers
+    private long state;
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
     public ExtendedRandom() {
     }
 
@@ -27,6 +43,38 @@ public class ExtendedRandom extends Random {
         super(seed);
     }
 
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+        haveNextNextGaussian = false;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    @Override
+    public double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
     public <T> T randomOneOf(T[] array) {
         if (array.length == 0) {
             throw new IllegalArgumentException("Empty array");
@@ -0,0 +1,345 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.GenerationListener;
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.ValueGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Collects counts and timings of generated values per type, and hit rates and timings per generator.
+ * Counters are striped, so they can be updated concurrently with little contention.
+ */
+public class GenerationMetrics implements GenerationListener {
+
+    private final ConcurrentMap<TypeInformation, TypeCounters> typeCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ValueGenerator, GeneratorCounters> generatorCounters = new ConcurrentHashMap<>();
+
+    @Override
+    public void valuesGenerated(TypeInformation type, int count, long nanos) {
+        TypeCounters counters = getTypeCounters(type);
+        counters.values.add(count);
+        counters.totalNanos.add(nanos);
+        if (count == 1) {
+            // Values reported in bulk have no durations of their own
+            counters.maxNanos.accumulate(nanos);
+        }
+    }
+
+    @Override
+    public void generatorInvoked(TypeInformation type, ValueGenerator generator, boolean produced, long nanos) {
+        GeneratorCounters counters = generatorCounters.get(generator);
+        if (counters == null) {
+            counters = generatorCounters.computeIfAbsent(generator, key -> new GeneratorCounters());
+        }
+        counters.invocations.increment();
+        counters.totalNanos.add(nanos);
+        counters.maxNanos.accumulate(nanos);
+        if (!produced) {
+            counters.misses.increment();
+            getTypeCounters(type).misses.increment();
+        }
+    }
+
+    @Override
+    public void cyclicReferenceFound(TypeInformation type) {
+        getTypeCounters(type).cyclicReferences.increment();
+    }
+
+    @Override
+    public void noValueIgnored(TypeInformation type) {
+        getTypeCounters(type).ignoredNoValues.increment();
+    }
+
+    /**
+     * @return Current values of all counters. Counters updated concurrently may be reflected partially.
+     */
+    public Snapshot snapshot() {
+        List<TypeStatistics> types = new ArrayList<>(typeCounters.size());
+        for (Map.Entry<TypeInformation, TypeCounters> entry : typeCounters.entrySet()) {
+            TypeCounters counters = entry.getValue();
+            types.add(new TypeStatistics(entry.getKey(), counters.values.sum(), counters.misses.sum(),
+                    counters.totalNanos.sum(), counters.maxNanos.get(),
+                    counters.cyclicReferences.sum(), counters.ignoredNoValues.sum()));
+        }
+        types.sort(comparingLong(TypeStatistics::getTotalNanos).reversed());
+        List<GeneratorStatistics> generators = new ArrayList<>(generatorCounters.size());
+        for (Map.Entry<ValueGenerator, GeneratorCounters> entry : generatorCounters.entrySet()) {
+            GeneratorCounters counters = entry.getValue();
+            generators.add(new GeneratorStatistics(entry.getKey(), counters.invocations.sum(), counters.misses.sum(),
+                    counters.totalNanos.sum(), counters.maxNanos.get()));
+        }
+        generators.sort(comparingLong(GeneratorStatistics::getInvocations).reversed());
+        return new Snapshot(types, generators);
+    }
+
+    public void reset() {
+        typeCounters.clear();
+        generatorCounters.clear();
+    }
+
+    private TypeCounters getTypeCounters(TypeInformation type) {
+        TypeCounters counters = typeCounters.get(type);
+        if (counters == null) {
+            counters = typeCounters.computeIfAbsent(type, key -> new TypeCounters());
+        }
+        return counters;
+    }
+
+    private static final class TypeCounters {
+
+        private final LongAdder values = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder cyclicReferences = new LongAdder();
+        private final LongAdder ignoredNoValues = new LongAdder();
+
+    }
+
+    private static final class GeneratorCounters {
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    }
+
+    /**
+     * Immutable state of metrics at a point in time. Types are ordered by total time, generators by invocations.
+     */
+    public static final class Snapshot {
+
+        private final List<TypeStatistics> types;
+        private final List<GeneratorStatistics> generators;
+
+        private Snapshot(List<TypeStatistics> types, List<GeneratorStatistics> generators) {
+            this.types = Collections.unmodifiableList(types);
+            this.generators = Collections.unmodifiableList(generators);
+        }
+
+        public List<TypeStatistics> getTypes() {
+            return types;
+        }
+
+        public List<GeneratorStatistics> getGenerators() {
+            return generators;
+        }
+
+        /**
+         * @return Statistics of types as CSV with a header line, e.g. to be analyzed in a spreadsheet.
+         */
+        public String typesToCsv() {
+            StringBuilder result = new StringBuilder("type,values,misses,totalNanos,maxNanos,cyclicReferences,ignoredNoValues\n");
+            for (TypeStatistics type : types) {
+                result.append('"').append(type.getTypeName()).append('"')
+                        .append(',').append(type.getValues())
+                        .append(',').append(type.getMisses())
+                        .append(',').append(type.getTotalNanos())
+                        .append(',').append(type.getMaxNanos())
+                        .append(',').append(type.getCyclicReferences())
+                        .append(',').append(type.getIgnoredNoValues())
+                        .append('\n');
+            }
+            return result.toString();
+        }
+
+        /**
+         * @return Statistics of generators as CSV with a header line, e.g. to be analyzed in a spreadsheet.
+         */
+        public String generatorsToCsv() {
+            StringBuilder result = new StringBuilder("generator,invocations,misses,totalNanos,maxNanos\n");
+            for (GeneratorStatistics generator : generators) {
+                result.append('"').append(generator.getGeneratorName()).append('"')
+                        .append(',').append(generator.getInvocations())
+                        .append(',').append(generator.getMisses())
+                        .append(',').append(generator.getTotalNanos())
+                        .append(',').append(generator.getMaxNanos())
+                        .append('\n');
+            }
+            return result.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "types=" + types +
+                    ", generators=" + generators +
+                    '}';
+        }
+    }
+
+    public static final class TypeStatistics {
+
+        private final TypeInformation type;
+        private final long values;
+        private final long misses;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long cyclicReferences;
+        private final long ignoredNoValues;
+
+        private TypeStatistics(TypeInformation type, long values, long misses, long totalNanos, long maxNanos,
+                               long cyclicReferences, long ignoredNoValues) {
+            this.type = type;
+            this.values = values;
+            this.misses = misses;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.cyclicReferences = cyclicReferences;
+            this.ignoredNoValues = ignoredNoValues;
+        }
+
+        public TypeInformation getType() {
+            return type;
+        }
+
+        /**
+         * @return Name of the type including its type parameters, e.g. java.util.List&lt;java.lang.String&gt;.
+         */
+        public String getTypeName() {
+            return type.getTypeName();
+        }
+
+        /**
+         * @return Number of values generated, including the ones that failed.
+         */
+        public long getValues() {
+            return values;
+        }
+
+        /**
+         * @return Number of times a generator returned NO_VALUE for the type.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return Inclusive time taken to generate all the values, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return Inclusive time taken to generate the slowest value, in nanoseconds.
+         * Components of primitive arrays reported in bulk are not taken into account.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getCyclicReferences() {
+            return cyclicReferences;
+        }
+
+        public long getIgnoredNoValues() {
+            return ignoredNoValues;
+        }
+
+        @Override
+        public String toString() {
+            return "TypeStatistics{" +
+                    "type=" + getTypeName() +
+                    ", values=" + values +
+                    ", misses=" + misses +
+                    ", totalNanos=" + totalNanos +
+                    ", maxNanos=" + maxNanos +
+                    ", cyclicReferences=" + cyclicReferences +
+                    ", ignoredNoValues=" + ignoredNoValues +
+                    '}';
+        }
+    }
+
+    public static final class GeneratorStatistics {
+
+        private final ValueGenerator generator;
+        private final long invocations;
+        private final long misses;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private GeneratorStatistics(ValueGenerator generator, long invocations, long misses, long totalNanos, long maxNanos) {
+            this.generator = generator;
+            this.invocations = invocations;
+            this.misses = misses;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public ValueGenerator getGenerator() {
+            return generator;
+        }
+
+        public String getGeneratorName() {
+            return generator.getClass().getName();
+        }
+
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * @return Number of times the generator returned NO_VALUE.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return Inclusive time taken by all the invocations, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return Inclusive time taken by the slowest invocation, in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getHitRate() {
+            return invocations == 0 ? 1.0 : (double) (invocations - misses) / invocations;
+        }
+
+        @Override
+        public String toString() {
+            return "GeneratorStatistics{" +
+                    "generator=" + getGeneratorName() +
+                    ", invocations=" + invocations +
+                    ", misses=" + misses +
+                    ", totalNanos=" + totalNanos +
+                    ", maxNanos=" + maxNanos +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread safe table of values indexed by small, non-negative ids, e.g. ids of canonical types.
+ * Lookups are plain array reads; the table grows as values with larger ids are stored. Stores are rare,
+ * so they are serialized with growing, which would otherwise copy the table without a concurrently stored value.
+ * <p>
+ * Ids of canonical types are assigned globally, in order of interning, so a table grows with the number of types
+ * interned in the whole JVM rather than the number of values it holds. Ids from {@link #MAX_CAPACITY} up are not
+ * stored, which bounds memory of each table; values for them have to be kept elsewhere.
+ */
+public class IdTable<V> {
+
+    /**
+     * Maximal number of entries of a table.
+     */
+    public static final int MAX_CAPACITY = 1 << 14;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile AtomicReferenceArray<V> values = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * @return The value stored for a given id, or null if there is none.
+     */
+    public V get(int id) {
+        AtomicReferenceArray<V> current = values;
+        return id < current.length() ? current.get(id) : null;
+    }
+
+    /**
+     * @return true if the id is below {@link #MAX_CAPACITY}, so a value for it can be stored.
+     */
+    public boolean accepts(int id) {
+        return id >= 0 && id < MAX_CAPACITY;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the id is not accepted.
+     */
+    public synchronized void put(int id, V value) {
+        if (!accepts(id)) {
+            throw new IndexOutOfBoundsException("Id out of range: " + id);
+        }
+        AtomicReferenceArray<V> current = values;
+        if (id >= current.length()) {
+            current = grow(id);
+        }
+        current.set(id, value);
+    }
+
+    public synchronized void clear() {
+        values = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    }
+
+    private AtomicReferenceArray<V> grow(int id) {
+        AtomicReferenceArray<V> current = values;
+        int capacity = Math.min(Math.max(current.length() * 2, Integer.highestOneBit(id) << 1), MAX_CAPACITY);
+        AtomicReferenceArray<V> result = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            result.set(i, current.get(i));
+        }
+        values = result;
+        return result;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Versioned scheme of deriving random values from seeds. Deterministic values depend on the scheme,
+ * so a given version keeps producing the same values, while newer versions may produce different ones.
+ */
+public enum SeedScheme {
+
+    /**
+     * Scheme compatible with previous versions (default).
+     * Values are drawn from an LCG equivalent to java.util.Random, seeds of fields are hashed from their names
+     * and seeds of collection elements are drawn sequentially from the collection's random.
+     */
+    V1 {
+        @Override
+        public ExtendedRandom newRandom(long seed) {
+            return new ExtendedRandom(seed);
+        }
+
+        @Override
+        public long childSeed(long seed, String fieldName) {
+            return Objects.hash(fieldName, (int) seed);
+        }
+
+        @Override
+        public long elementSeed(long seed, String fieldName, int index, Supplier<ExtendedRandom> random) {
+            return random.get().nextInt();
+        }
+    },
+
+    /**
+     * Scheme based on SplitMix64 with full 64-bit seeds.
+     * Seeds of fields are split from the seed of their parent and seeds of collection elements are split
+     * from the collection's stream.
+     */
+    V2 {
+        @Override
+        public ExtendedRandom newRandom(long seed) {
+            return new SplitMixRandom(seed);
+        }
+
+        @Override
+        public long childSeed(long seed, String fieldName) {
+            return SplitMixRandom.split(seed, Objects.hashCode(fieldName));
+        }
+
+        @Override
+        public long elementSeed(long seed, String fieldName, int index, Supplier<ExtendedRandom> random) {
+            return random.get().nextLong();
+        }
+    },
+
+    /**
+     * Counter-based scheme built on SplitMix64, where every seed is a pure function of the root seed,
+     * the path of field names and indexes of collection elements. No element depends on the preceding ones,
+     * so any element can be generated directly, without generating its predecessors.
+     */
+    V3 {
+        @Override
+        public ExtendedRandom newRandom(long seed) {
+            return new SplitMixRandom(seed);
+        }
+
+        @Override
+        public long childSeed(long seed, String fieldName) {
+            return SplitMixRandom.split(seed, Objects.hashCode(fieldName));
+        }
+
+        @Override
+        public long elementSeed(long seed, String fieldName, int index, Supplier<ExtendedRandom> random) {
+            return SplitMixRandom.split(childSeed(seed, fieldName), ~(long) index);
+        }
+    };
+
+    /**
+     * Creates a random for generation of a single value.
+     */
+    public abstract ExtendedRandom newRandom(long seed);
+
+    /**
+     * Derives the seed of a field, or of a constructor parameter, from the seed of its parent.
+     */
+    public abstract long childSeed(long seed, String fieldName);
+
+    /**
+     * Derives the seed of a collection element, either from the seed of the collection, the field name and
+     * the element's index, or by drawing it from the random of the collection.
+     *
+     * @param seed      Seed of the collection.
+     * @param fieldName Name of the field holding the elements, distinguishing e.g. keys and values of a map.
+     * @param index     Index of the element; elements are requested in order.
+     * @param random    Random of the collection, created only when requested.
+     */
+    public abstract long elementSeed(long seed, String fieldName, int index, Supplier<ExtendedRandom> random);
+
+}
@@ -0,0 +1,86 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.Objects;
+
+/**
+ * Inclusive range of sizes of generated collections, maps and arrays.
+ */
+public final class SizeRange {
+
+    private final int min;
+    private final int max;
+
+    public SizeRange(int min, int max) {
+        if (min < 0) {
+            throw new IllegalArgumentException("'min' must not be negative");
+        }
+        if (max < min) {
+            throw new IllegalArgumentException("'max' must not be less than 'min'");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    public SizeRange(int size) {
+        this(size, size);
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public boolean isFixed() {
+        return min == max;
+    }
+
+    /**
+     * Picks a size from the range. The random is not used for fixed ranges.
+     */
+    public int pick(ExtendedRandom random) {
+        return isFixed() ? min : random.randomInt(min, max);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SizeRange that = (SizeRange) o;
+        return min == that.min && max == that.max;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(min, max);
+    }
+
+    @Override
+    public String toString() {
+        return "SizeRange{" +
+                "min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+/**
+ * Random number generator based on SplitMix64, used by {@link SeedScheme#V2}.
+ * <p>
+ * Its state is a single counter advanced by a constant, so creating and seeding an instance is cheap
+ * and seeds of independent streams can be derived by mixing, without allocating intermediate generators.
+ * Not thread safe.
+ */
+public class SplitMixRandom extends ExtendedRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Assigned by setSeed, called from the constructor of Random, so it must not have an initializer
+    private long state;
+
+    public SplitMixRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = seed;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    /**
+     * Derives a seed of an independent stream, identified by a key, from a given seed.
+     */
+    public static long split(long seed, long key) {
+        return mix64(seed + GOLDEN_GAMMA * (mix64(key) | 1));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
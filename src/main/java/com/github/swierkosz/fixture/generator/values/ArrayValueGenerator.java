@@ -20,23 +20,29 @@ import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 
 import java.lang.reflect.Array;
-import java.util.Collection;
 
 public class ArrayValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType.isArray();
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         TypeInformation type = valueContext.getType();
 
         if (type.getRawType().isArray()) {
             TypeInformation componentType = type.getTypeParameters().get(0);
-            Collection<Object> components = valueContext.createCollection(valueContext.getFieldName(), componentType);
-            Object array = Array.newInstance(componentType.getRawType(), components.size());
-            int index = 0;
-            for (Object component : components) {
-                Array.set(array, index, component);
-                index++;
+            int size = valueContext.getCollectionSize(componentType);
+            if (valueContext instanceof ValueContextImpl) {
+                Object array = ((ValueContextImpl) valueContext).createPrimitiveArray(valueContext.getFieldName(), componentType, size);
+                if (array != null) {
+                    return array;
+                }
             }
+            Object array = Array.newInstance(componentType.getRawType(), size);
+            valueContext.createElements(valueContext.getFieldName(), componentType, size, (component, index) -> Array.set(array, index, component));
             return array;
         } else {
             return NO_VALUE;
@@ -19,16 +19,27 @@ import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 
+import java.util.Random;
+
 public class BooleanValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType == boolean.class || rawType == Boolean.class;
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         TypeInformation type = valueContext.getType();
 
         if (type.is(boolean.class) || type.is(Boolean.class)) {
-            return Math.abs(valueContext.getRandom().nextInt()) % 2 == 0;
+            return randomBoolean(valueContext.getRandom());
         } else {
             return NO_VALUE;
         }
     }
+
+    static boolean randomBoolean(Random random) {
+        return Math.abs(random.nextInt()) % 2 == 0;
+    }
 }
@@ -19,16 +19,27 @@ import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 
+import java.util.Random;
+
 public class CharacterValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType == char.class || rawType == Character.class;
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         TypeInformation type = valueContext.getType();
 
         if (type.is(char.class) || type.is(Character.class)) {
-            return (char) ('A' + (Math.abs(valueContext.getRandom().nextInt()) % 26));
+            return randomCharacter(valueContext.getRandom());
         } else {
             return NO_VALUE;
         }
     }
+
+    static char randomCharacter(Random random) {
+        return (char) ('A' + (Math.abs(random.nextInt()) % 26));
+    }
 }
@@ -35,6 +35,11 @@ import static com.github.swierkosz.fixture.generator.reflection.ReflectionUtils.
 
 public class CollectionValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return Collection.class.isAssignableFrom(rawType);
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         Collection<Object> collection;
@@ -44,14 +49,17 @@ public class CollectionValueGenerator implements ValueGenerator {
             return NO_VALUE;
         }
 
+        TypeInformation elementType = type.getTypeParameters().get(0);
+        int size = valueContext.getCollectionSize(elementType);
+
         if (type.is(Collection.class)) {
-            collection = new ArrayList<>();
+            collection = new ArrayList<>(size);
 
         } else if (type.is(List.class)) {
-            collection = new ArrayList<>();
+            collection = new ArrayList<>(size);
 
         } else if (type.is(Set.class)) {
-            collection = new LinkedHashSet<>();
+            collection = new LinkedHashSet<>(hashCapacity(size));
 
         } else if (type.is(SortedSet.class)) {
             collection = new TreeSet<>();
@@ -77,7 +85,11 @@ public class CollectionValueGenerator implements ValueGenerator {
             return NO_VALUE;
         }
 
-        collection.addAll(valueContext.createCollection(valueContext.getFieldName(), type.getTypeParameters().get(0)));
+        valueContext.createElements(valueContext.getFieldName(), elementType, size, (element, index) -> collection.add(element));
         return collection;
     }
+
+    static int hashCapacity(int size) {
+        return Math.max((int) (size / 0.75f) + 1, 16);
+    }
 }
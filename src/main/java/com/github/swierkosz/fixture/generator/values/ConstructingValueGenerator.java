@@ -22,13 +22,41 @@ import com.github.swierkosz.fixture.generator.reflection.ClassInspector;
 import com.github.swierkosz.fixture.generator.reflection.ConstructorInformation;
 import com.github.swierkosz.fixture.generator.reflection.FieldInformation;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Comparator.comparing;
 
+/**
+ * Constructs objects using their constructors, then assigns generated values to their fields.
+ * <p>
+ * Constructors are tried from the one with the fewest parameters, sorted once per type. A constructor that fails
+ * regardless of its arguments, e.g. because it cannot be accessed or its class cannot be linked, is not tried again
+ * for that type. Other failures may depend on the generated arguments, so they never change the order
+ * and the same arguments always produce the same object.
+ * <p>
+ * Constructors that succeeded are deliberately not tried first next time: a constructor that failed for some
+ * arguments may succeed for others, so starting from a remembered one would make values depend on earlier calls.
+ */
 public class ConstructingValueGenerator implements ValueGenerator {
 
-    private final ClassInspector classInspector = new ClassInspector();
+    private final ClassInspector classInspector;
+    private final ConcurrentMap<TypeInformation, List<ConstructorInformation>> constructorCandidates = new ConcurrentHashMap<>();
+
+    public ConstructingValueGenerator() {
+        this.classInspector = new ClassInspector();
+    }
+
+    /**
+     * Creates a generator sharing inspected class metadata with the source, but not the sorted constructors.
+     */
+    public ConstructingValueGenerator(ConstructingValueGenerator source) {
+        this.classInspector = source.classInspector;
+    }
 
     @Override
     public Object generateValue(ValueContext valueContext) {
@@ -48,29 +76,68 @@ public class ConstructingValueGenerator implements ValueGenerator {
         return result;
     }
 
+    public ClassInspector getClassInspector() {
+        return classInspector;
+    }
+
     private Object create(TypeInformation typeInformation, ValueContext valueContext) {
-        List<ConstructorInformation> constructors = classInspector.listConstructorsFor(typeInformation);
-        constructors.sort(comparing(item -> item.getParameterTypes().size()));
-        for (ConstructorInformation constructor : constructors) {
+        List<ConstructorInformation> candidates = constructorCandidates.get(typeInformation);
+        if (candidates == null) {
+            candidates = constructorCandidates.computeIfAbsent(typeInformation, this::sortConstructors);
+        }
+        for (ConstructorInformation constructor : candidates) {
+            Object event = GenerationEvents.beginConstructorAttempt();
             try {
-                List<TypeInformation> parameterTypes = constructor.getParameterTypes();
-                List<String> parameterNames = constructor.getParameterNames();
-                Object[] args = new Object[parameterTypes.size()];
-                int index = 0;
-                for (TypeInformation parameterType : parameterTypes) {
-                    args[index] = valueContext.create(parameterNames.get(index), parameterType);
-                    index++;
-                }
-
-                constructor.getConstructor().setAccessible(true);
-                return constructor.getConstructor().newInstance(args);
+                Object result = newInstance(constructor, valueContext);
+                GenerationEvents.endConstructorAttempt(event, typeInformation, constructor, null);
+                return result;
             } catch (Exception e) {
-                // ignore
+                GenerationEvents.endConstructorAttempt(event, typeInformation, constructor, e);
+                if (failsRegardlessOfArguments(e)) {
+                    forgetConstructor(typeInformation, constructor);
+                }
             }
         }
         return null;
     }
 
+    private List<ConstructorInformation> sortConstructors(TypeInformation typeInformation) {
+        List<ConstructorInformation> constructors = new ArrayList<>(classInspector.listConstructorsFor(typeInformation));
+        constructors.sort(comparing(item -> item.getParameterTypes().size()));
+        return Collections.unmodifiableList(constructors);
+    }
+
+    private void forgetConstructor(TypeInformation typeInformation, ConstructorInformation constructor) {
+        constructorCandidates.computeIfPresent(typeInformation, (type, candidates) -> {
+            List<ConstructorInformation> result = new ArrayList<>(candidates);
+            result.remove(constructor);
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * @return true if the constructor could not be invoked at all, or its class could not be linked or initialized,
+     * as opposed to the constructor throwing an exception for some of its arguments.
+     */
+    private static boolean failsRegardlessOfArguments(Exception e) {
+        return e instanceof IllegalAccessException
+                || e instanceof InstantiationException
+                || e instanceof InvocationTargetException && e.getCause() instanceof LinkageError;
+    }
+
+    private static Object newInstance(ConstructorInformation constructor, ValueContext valueContext) throws Exception {
+        List<TypeInformation> parameterTypes = constructor.getParameterTypes();
+        List<String> parameterNames = constructor.getParameterNames();
+        Object[] args = new Object[parameterTypes.size()];
+        int index = 0;
+        for (TypeInformation parameterType : parameterTypes) {
+            args[index] = valueContext.create(parameterNames.get(index), parameterType);
+            index++;
+        }
+
+        return constructor.newInstance(args);
+    }
+
     private static boolean isRecord(Class<?> type) {
         return type.getSuperclass() != null
                 && type.getSuperclass().getName().equals("java.lang.Record");
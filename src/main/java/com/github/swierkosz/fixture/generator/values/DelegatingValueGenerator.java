@@ -23,12 +23,25 @@ import java.util.Map;
 
 public class DelegatingValueGenerator implements ValueGenerator {
 
-    private final Map<Class<?>, ValueGenerator> generators = new HashMap<>();
+    private final Map<Class<?>, ValueGenerator> generators;
+
+    public DelegatingValueGenerator() {
+        this.generators = new HashMap<>();
+    }
+
+    public DelegatingValueGenerator(DelegatingValueGenerator source) {
+        this.generators = new HashMap<>(source.generators);
+    }
 
     public void assignGenerator(Class<?> type, ValueGenerator generator) {
         generators.put(type, generator);
     }
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return generators.containsKey(rawType);
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         ValueGenerator generator = generators.get(valueContext.getType().getRawType());
@@ -20,6 +20,11 @@ import com.github.swierkosz.fixture.generator.ValueGenerator;
 
 public class EnumValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType.isEnum();
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         Class<?> rawType = valueContext.getType().getRawType();
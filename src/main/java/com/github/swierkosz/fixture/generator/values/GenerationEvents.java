@@ -0,0 +1,61 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.reflection.ConstructorInformation;
+
+/**
+ * Hooks for Java Flight Recorder events, which are emitted when running on Java 11 or newer.
+ * <p>
+ * This is the Java 8 variant of the class, in which all hooks do nothing. The variant for Java 11 is located in
+ * META-INF/versions/11 of the multi-release jar. Methods starting an event return a handle to be passed to the
+ * method ending it, or null if the event is disabled.
+ */
+final class GenerationEvents {
+
+    private GenerationEvents() {
+    }
+
+    static Object beginFixture() {
+        return null;
+    }
+
+    static void endFixture(Object event, TypeInformation type, long seed) {
+    }
+
+    static Object beginConstruction() {
+        return null;
+    }
+
+    static void endConstruction(Object event, TypeInformation type, TypeStack typesUnderConstruction) {
+    }
+
+    static Object beginConstructorAttempt() {
+        return null;
+    }
+
+    static void endConstructorAttempt(Object event, TypeInformation type, ConstructorInformation constructor, Exception failure) {
+    }
+
+    static Object beginTransformation() {
+        return null;
+    }
+
+    static void endTransformation(Object event, Object value) {
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.GenerationListener;
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.ValueContext;
+import com.github.swierkosz.fixture.generator.ValueGenerator;
+import com.github.swierkosz.fixture.generator.transformers.TransformerPipeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static com.github.swierkosz.fixture.generator.values.NoValue.NO_VALUE;
+
+/**
+ * Pre-resolved way of generating values of a single type, compiled when the type is requested for the first time.
+ * <p>
+ * Initially the plan consults all generators in the configured order. Generators that decide solely on the type
+ * are dropped from the plan once they return NO_VALUE for it, so later values of the same type are handed straight
+ * to the generator able to produce them. Generators, which are not known to be type driven, are always consulted.
+ * <p>
+ * A plan covers a single node only, it is not a tree of child plans. Constructors and fields are still resolved by
+ * {@link ConstructingValueGenerator} from its per type caches, and every child value looks up its own plan through
+ * {@link ValueContext}, which is a single table lookup for canonical types.
+ */
+public class GenerationPlan {
+
+    private final TypeInformation type;
+    private final Set<ValueGenerator> typeDrivenGenerators;
+    private final TransformerPipeline transformers;
+    private volatile ValueGenerator[] generators;
+    private volatile boolean compiled;
+
+    public GenerationPlan(TypeInformation type,
+                          Collection<ValueGenerator> generators,
+                          Set<ValueGenerator> typeDrivenGenerators,
+                          TransformerPipeline transformers) {
+        this.type = type;
+        this.generators = generators.toArray(new ValueGenerator[0]);
+        this.typeDrivenGenerators = typeDrivenGenerators;
+        this.transformers = transformers;
+    }
+
+    public TypeInformation getType() {
+        return type;
+    }
+
+    Object generate(ValueContext valueContext) {
+        ValueGenerator[] current = generators;
+        if (!compiled) {
+            return generateAndCompile(current, valueContext, null);
+        }
+        for (ValueGenerator generator : current) {
+            Object value = generator.generateValue(valueContext);
+            if (value != NO_VALUE) {
+                return value;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Generates a value like {@link #generate(ValueContext)}, notifying a listener about each consulted generator.
+     */
+    Object generate(ValueContext valueContext, GenerationListener listener) {
+        ValueGenerator[] current = generators;
+        if (!compiled) {
+            return generateAndCompile(current, valueContext, listener);
+        }
+        for (ValueGenerator generator : current) {
+            long start = System.nanoTime();
+            Object value = generator.generateValue(valueContext);
+            listener.generatorInvoked(type, generator, value != NO_VALUE, System.nanoTime() - start);
+            if (value != NO_VALUE) {
+                return value;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @return true if values are produced by a built-in generator and values of a given class are not transformed
+     * afterwards, so they can be produced by an equivalent specialized routine instead.
+     */
+    boolean isProducedByBuiltInGenerator(Class<?> valueClass) {
+        ValueGenerator[] current = generators;
+        return current.length > 0 && typeDrivenGenerators.contains(current[0]) && !transformers.transforms(valueClass);
+    }
+
+    Object postProcess(Object value) {
+        if (transformers.isEmpty()) {
+            return value;
+        }
+        Object event = GenerationEvents.beginTransformation();
+        Object result = transformers.apply(value);
+        GenerationEvents.endTransformation(event, result);
+        return result;
+    }
+
+    private Object generateAndCompile(ValueGenerator[] current, ValueContext valueContext, GenerationListener listener) {
+        List<ValueGenerator> remaining = new ArrayList<>(current.length);
+        Object result = NO_VALUE;
+        for (ValueGenerator generator : current) {
+            if (result == NO_VALUE) {
+                long start = listener == null ? 0 : System.nanoTime();
+                result = generator.generateValue(valueContext);
+                if (listener != null) {
+                    listener.generatorInvoked(type, generator, result != NO_VALUE, System.nanoTime() - start);
+                }
+                if (result == NO_VALUE && typeDrivenGenerators.contains(generator)) {
+                    continue;
+                }
+            }
+            remaining.add(generator);
+        }
+        generators = remaining.toArray(new ValueGenerator[0]);
+        compiled = true;
+        return result;
+    }
+
+}
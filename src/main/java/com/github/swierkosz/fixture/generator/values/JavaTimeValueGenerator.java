@@ -15,7 +15,6 @@ package com.github.swierkosz.fixture.generator.values;
  *    limitations under the License.
  */
 
-import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 import com.github.swierkosz.fixture.generator.util.ExtendedRandom;
@@ -39,8 +38,11 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.function.Function;
 
 public class JavaTimeValueGenerator implements ValueGenerator {
 
@@ -654,65 +656,46 @@ public class JavaTimeValueGenerator implements ValueGenerator {
             "WET",
             "Zulu");
 
-    @Override
-    public Object generateValue(ValueContext valueContext) {
-        TypeInformation type = valueContext.getType();
-        ExtendedRandom random = valueContext.getRandom();
-
-        if (type.is(Duration.class)) {
-            return Duration.ofSeconds(random.randomLong(0, YEAR_IN_SECONDS), random.randomLong(0, MAX_NANOS));
-
-        } else if (type.is(Instant.class)) {
-            return LocalDateTime.of(randomLocalDate(random), randomLocalTime(random)).toInstant(ZoneOffset.UTC);
-
-        } else if (type.is(LocalDate.class)) {
-            return randomLocalDate(random);
-
-        } else if (type.is(LocalTime.class)) {
-            return randomLocalTime(random);
+    private static final Map<Class<?>, Function<ExtendedRandom, Object>> FACTORIES = new HashMap<>();
 
-        } else if (type.is(LocalDateTime.class)) {
-            return LocalDateTime.of(randomLocalDate(random), randomLocalTime(random));
-
-        } else if (type.is(MonthDay.class)) {
+    static {
+        FACTORIES.put(Duration.class, random -> Duration.ofSeconds(random.randomLong(0, YEAR_IN_SECONDS), random.randomLong(0, MAX_NANOS)));
+        FACTORIES.put(Instant.class, random -> LocalDateTime.of(randomLocalDate(random), randomLocalTime(random)).toInstant(ZoneOffset.UTC));
+        FACTORIES.put(LocalDate.class, JavaTimeValueGenerator::randomLocalDate);
+        FACTORIES.put(LocalTime.class, JavaTimeValueGenerator::randomLocalTime);
+        FACTORIES.put(LocalDateTime.class, random -> LocalDateTime.of(randomLocalDate(random), randomLocalTime(random)));
+        FACTORIES.put(MonthDay.class, random -> {
             Month month = random.randomOneOf(Month.values());
             return MonthDay.of(month, random.randomInt(1, month.maxLength()));
-
-        } else if (type.is(OffsetDateTime.class)) {
-            return OffsetDateTime.of(randomLocalDate(random), randomLocalTime(random), randomZoneOffset(random));
-
-        } else if (type.is(OffsetTime.class)) {
-            return OffsetTime.of(randomLocalTime(random), randomZoneOffset(random));
-
-        } else if (type.is(Period.class)) {
-            return Period.of(random.randomInt(0, 50), random.randomInt(0, 12), random.randomInt(0, 30));
-
-        } else if (type.is(Year.class)) {
-            return Year.of(random.randomInt(1970, 2020));
-
-        } else if (type.is(YearMonth.class)) {
-            return YearMonth.of(random.randomInt(1970, 2020), random.randomOneOf(Month.values()));
-
-        } else if (type.is(ZonedDateTime.class)) {
-            return ZonedDateTime.of(randomLocalDate(random), randomLocalTime(random), randomZoneId(random));
-
-        } else if (type.is(ZoneId.class)) {
-            return randomZoneId(random);
-
-        } else if (type.is(ZoneOffset.class)) {
-            return randomZoneOffset(random);
-
-        } else if (type.is(Date.class)) {
-            return new Date(randomMillis(random));
-
-        } else if (type.is(Calendar.class)) {
+        });
+        FACTORIES.put(OffsetDateTime.class, random -> OffsetDateTime.of(randomLocalDate(random), randomLocalTime(random), randomZoneOffset(random)));
+        FACTORIES.put(OffsetTime.class, random -> OffsetTime.of(randomLocalTime(random), randomZoneOffset(random)));
+        FACTORIES.put(Period.class, random -> Period.of(random.randomInt(0, 50), random.randomInt(0, 12), random.randomInt(0, 30)));
+        FACTORIES.put(Year.class, random -> Year.of(random.randomInt(1970, 2020)));
+        FACTORIES.put(YearMonth.class, random -> YearMonth.of(random.randomInt(1970, 2020), random.randomOneOf(Month.values())));
+        FACTORIES.put(ZonedDateTime.class, random -> ZonedDateTime.of(randomLocalDate(random), randomLocalTime(random), randomZoneId(random)));
+        FACTORIES.put(ZoneId.class, JavaTimeValueGenerator::randomZoneId);
+        FACTORIES.put(ZoneOffset.class, JavaTimeValueGenerator::randomZoneOffset);
+        FACTORIES.put(Date.class, random -> new Date(randomMillis(random)));
+        FACTORIES.put(Calendar.class, random -> {
             Calendar calendar = new GregorianCalendar();
             calendar.setTimeInMillis(randomMillis(random));
             return calendar;
+        });
+        FACTORIES.put(TimeZone.class, random -> TimeZone.getTimeZone(randomZoneId(random)));
+    }
 
-        } else if (type.is(TimeZone.class)) {
-            return TimeZone.getTimeZone(randomZoneId(random));
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return FACTORIES.containsKey(rawType);
+    }
+
+    @Override
+    public Object generateValue(ValueContext valueContext) {
+        Function<ExtendedRandom, Object> factory = FACTORIES.get(valueContext.getType().getRawType());
 
+        if (factory != null) {
+            return factory.apply(valueContext.getRandom());
         } else {
             return NO_VALUE;
         }
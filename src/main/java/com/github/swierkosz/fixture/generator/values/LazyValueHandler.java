@@ -0,0 +1,94 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Handles invocations on a proxy standing in for a value, which is created on first invocation and then reused.
+ * Exceptions thrown by the value are rethrown as they are.
+ * <p>
+ * Methods of interfaces, which are not public, are made accessible once, the first time they are invoked.
+ * They are remembered per interface, so they do not keep the interface from being unloaded.
+ */
+final class LazyValueHandler implements InvocationHandler {
+
+    private static final ClassValue<ConcurrentMap<Method, Method>> ACCESSIBLE_METHODS = new ClassValue<ConcurrentMap<Method, Method>>() {
+        @Override
+        protected ConcurrentMap<Method, Method> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Supplier<Object> factory;
+    private volatile Object value;
+    private volatile boolean created;
+
+    private LazyValueHandler(Supplier<Object> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a proxy implementing a given interface, delegating to a value created by a factory on first use.
+     */
+    static Object createProxy(Class<?> type, Supplier<Object> factory) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyValueHandler(factory));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object target = getValue();
+        if (target == null) {
+            throw new NullPointerException("Lazy value was generated as null: " + method.getDeclaringClass().getName());
+        }
+        try {
+            return accessible(method).invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Method accessible(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (Modifier.isPublic(declaringClass.getModifiers())) {
+            return method;
+        }
+        return ACCESSIBLE_METHODS.get(declaringClass).computeIfAbsent(method, key -> {
+            key.setAccessible(true);
+            return key;
+        });
+    }
+
+    private Object getValue() {
+        if (!created) {
+            synchronized (this) {
+                if (!created) {
+                    value = factory.get();
+                    created = true;
+                }
+            }
+        }
+        return value;
+    }
+
+}
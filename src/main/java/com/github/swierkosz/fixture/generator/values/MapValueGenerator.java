@@ -19,8 +19,6 @@ import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -31,6 +29,11 @@ import static com.github.swierkosz.fixture.generator.reflection.ReflectionUtils.
 
 public class MapValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return Map.class.isAssignableFrom(rawType);
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         Map<Object, Object> map;
@@ -40,8 +43,11 @@ public class MapValueGenerator implements ValueGenerator {
             return NO_VALUE;
         }
 
+        TypeInformation keyType = type.getTypeParameters().get(0);
+        int size = valueContext.getCollectionSize(keyType);
+
         if (type.is(Map.class)) {
-            map = new LinkedHashMap<>();
+            map = new LinkedHashMap<>(CollectionValueGenerator.hashCapacity(size));
 
         } else if (type.is(SortedMap.class)) {
             map = new TreeMap<>();
@@ -61,15 +67,10 @@ public class MapValueGenerator implements ValueGenerator {
             return NO_VALUE;
         }
 
-        Collection<Object> keys = valueContext.createCollection(valueContext.getFieldName() + "-key", type.getTypeParameters().get(0));
-        Collection<Object> values = valueContext.createCollection(valueContext.getFieldName() + "-value", type.getTypeParameters().get(1));
-
-        Iterator<Object> keyIterator = keys.iterator();
-        Iterator<Object> valueIterator = values.iterator();
-
-        while (keyIterator.hasNext() && valueIterator.hasNext()) {
-            map.put(keyIterator.next(), valueIterator.next());
-        }
+        // Keys and values are generated separately, in the same order as before, so values do not change
+        Object[] keys = new Object[size];
+        valueContext.createElements(valueContext.getFieldName() + "-key", keyType, size, (key, index) -> keys[index] = key);
+        valueContext.createElements(valueContext.getFieldName() + "-value", type.getTypeParameters().get(1), size, (value, index) -> map.put(keys[index], value));
 
         return map;
     }
@@ -15,45 +15,56 @@ package com.github.swierkosz.fixture.generator.values;
  *    limitations under the License.
  */
 
-import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 
 public class NumberValueGenerator implements ValueGenerator {
 
-    @Override
-    public Object generateValue(ValueContext valueContext) {
-        TypeInformation type = valueContext.getType();
-        Random random = valueContext.getRandom();
-
-        if (type.is(byte.class) || type.is(Byte.class)) {
-            return (byte) random.nextInt();
-
-        } else if (type.is(short.class) || type.is(Short.class)) {
-            return (short) random.nextInt();
+    private static final Map<Class<?>, Function<Random, Object>> FACTORIES = new HashMap<>();
 
-        } else if (type.is(int.class) || type.is(Integer.class)) {
-            return random.nextInt();
+    static {
+        register(random -> (byte) random.nextInt(), byte.class, Byte.class);
+        register(random -> (short) random.nextInt(), short.class, Short.class);
+        register(Random::nextInt, int.class, Integer.class);
+        register(Random::nextLong, long.class, Long.class);
+        register(NumberValueGenerator::randomFloat, float.class, Float.class);
+        register(NumberValueGenerator::randomDouble, double.class, Double.class);
+        register(random -> BigInteger.valueOf(random.nextLong()), BigInteger.class);
+        register(random -> BigDecimal.valueOf((double) random.nextLong() / 1000d), BigDecimal.class);
+    }
 
-        } else if (type.is(long.class) || type.is(Long.class)) {
-            return random.nextLong();
+    private static void register(Function<Random, Object> factory, Class<?>... types) {
+        for (Class<?> type : types) {
+            FACTORIES.put(type, factory);
+        }
+    }
 
-        } else if (type.is(float.class) || type.is(Float.class)) {
-            return (float) random.nextInt() / 1000f;
+    static float randomFloat(Random random) {
+        return (float) random.nextInt() / 1000f;
+    }
 
-        } else if (type.is(double.class) || type.is(Double.class)) {
-            return (double) random.nextInt() / 1000d;
+    static double randomDouble(Random random) {
+        return (double) random.nextInt() / 1000d;
+    }
 
-        } else if (type.is(BigInteger.class)) {
-            return BigInteger.valueOf(random.nextLong());
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return FACTORIES.containsKey(rawType);
+    }
 
-        } else if (type.is(BigDecimal.class)) {
-            return BigDecimal.valueOf((double) random.nextLong() / 1000d);
+    @Override
+    public Object generateValue(ValueContext valueContext) {
+        Function<Random, Object> factory = FACTORIES.get(valueContext.getType().getRawType());
 
+        if (factory != null) {
+            return factory.apply(valueContext.getRandom());
         } else {
             return NO_VALUE;
         }
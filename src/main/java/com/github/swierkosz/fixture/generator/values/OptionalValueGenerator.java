@@ -18,7 +18,7 @@ package com.github.swierkosz.fixture.generator.values;
 import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
-import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
 
 import java.util.Optional;
 import java.util.OptionalDouble;
@@ -27,9 +27,17 @@ import java.util.OptionalLong;
 
 public class OptionalValueGenerator implements ValueGenerator {
 
-    private static final TypeInformation INT_TYPE = new TypeInformationImpl(int.class);
-    private static final TypeInformation LONG_TYPE = new TypeInformationImpl(long.class);
-    private static final TypeInformation DOUBLE_TYPE = new TypeInformationImpl(double.class);
+    private static final TypeInformation INT_TYPE = TypeInterner.intern(int.class);
+    private static final TypeInformation LONG_TYPE = TypeInterner.intern(long.class);
+    private static final TypeInformation DOUBLE_TYPE = TypeInterner.intern(double.class);
+
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType == Optional.class
+                || rawType == OptionalInt.class
+                || rawType == OptionalLong.class
+                || rawType == OptionalDouble.class;
+    }
 
     @Override
     public Object generateValue(ValueContext valueContext) {
@@ -0,0 +1,107 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import java.util.Random;
+
+/**
+ * Sets components of primitive arrays directly, without boxing, to the same values as built-in generators
+ * would produce from a given random.
+ */
+enum PrimitiveArrayFiller {
+
+    BOOLEAN(boolean.class, Boolean.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((boolean[]) array)[index] = BooleanValueGenerator.randomBoolean(random);
+        }
+    },
+    BYTE(byte.class, Byte.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((byte[]) array)[index] = (byte) random.nextInt();
+        }
+    },
+    CHAR(char.class, Character.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((char[]) array)[index] = CharacterValueGenerator.randomCharacter(random);
+        }
+    },
+    SHORT(short.class, Short.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((short[]) array)[index] = (short) random.nextInt();
+        }
+    },
+    INT(int.class, Integer.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((int[]) array)[index] = random.nextInt();
+        }
+    },
+    LONG(long.class, Long.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((long[]) array)[index] = random.nextLong();
+        }
+    },
+    FLOAT(float.class, Float.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((float[]) array)[index] = NumberValueGenerator.randomFloat(random);
+        }
+    },
+    DOUBLE(double.class, Double.class) {
+        @Override
+        void set(Object array, int index, Random random) {
+            ((double[]) array)[index] = NumberValueGenerator.randomDouble(random);
+        }
+    };
+
+    private final Class<?> componentType;
+    private final Class<?> boxedType;
+
+    PrimitiveArrayFiller(Class<?> componentType, Class<?> boxedType) {
+        this.componentType = componentType;
+        this.boxedType = boxedType;
+    }
+
+    abstract void set(Object array, int index, Random random);
+
+    /**
+     * @return Class of components boxed by generators, e.g. when passed to transformers.
+     */
+    Class<?> getBoxedType() {
+        return boxedType;
+    }
+
+    /**
+     * @return The filler for arrays of a given component type, or null if it is not primitive.
+     */
+    static PrimitiveArrayFiller forComponentType(Class<?> componentType) {
+        if (!componentType.isPrimitive()) {
+            return null;
+        }
+        for (PrimitiveArrayFiller filler : values()) {
+            if (filler.componentType == componentType) {
+                return filler;
+            }
+        }
+        return null;
+    }
+
+}
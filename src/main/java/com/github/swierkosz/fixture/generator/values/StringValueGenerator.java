@@ -18,17 +18,45 @@ package com.github.swierkosz.fixture.generator.values;
 import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
-import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
 
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class StringValueGenerator implements ValueGenerator {
 
-    private final TypeInformation UUID_TYPE = new TypeInformationImpl(UUID.class);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String DEFAULT_PREFIX = "string-";
+
+    private final TypeInformation UUID_TYPE = TypeInterner.intern(UUID.class);
+    private final ConcurrentMap<String, String> prefixes = new ConcurrentHashMap<>();
+    private volatile boolean fast;
+
+    public boolean isFast() {
+        return fast;
+    }
+
+    /**
+     * Switches between generating strings from UUIDs (default, compatible with values generated by previous versions)
+     * and generating strings of the same shape directly from random values, which is considerably faster.
+     */
+    public void setFast(boolean fast) {
+        this.fast = fast;
+    }
+
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType == String.class;
+    }
 
     @Override
     public Object generateValue(ValueContext valueContext) {
         if (valueContext.getType().is(String.class)) {
+            if (fast) {
+                return generateFromRandom(valueContext);
+            }
             StringBuilder sb = new StringBuilder();
 
             if (valueContext.getFieldName() != null) {
@@ -44,4 +72,45 @@ public class StringValueGenerator implements ValueGenerator {
             return NO_VALUE;
         }
     }
-}
\ No newline at end of file
+
+    private String generateFromRandom(ValueContext valueContext) {
+        String prefix = getPrefix(valueContext.getFieldName());
+        Random random = valueContext.getRandom();
+        long mostSignificantBits = random.nextLong();
+        long leastSignificantBits = random.nextLong();
+
+        // Same layout as UUID.toString(): 8-4-4-4-12 hex digits
+        char[] chars = new char[prefix.length() + 36];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        int offset = prefix.length();
+        offset = appendHex(chars, offset, mostSignificantBits >>> 32, 8);
+        chars[offset++] = '-';
+        offset = appendHex(chars, offset, mostSignificantBits >>> 16, 4);
+        chars[offset++] = '-';
+        offset = appendHex(chars, offset, mostSignificantBits, 4);
+        chars[offset++] = '-';
+        offset = appendHex(chars, offset, leastSignificantBits >>> 48, 4);
+        chars[offset++] = '-';
+        appendHex(chars, offset, leastSignificantBits, 12);
+        return new String(chars);
+    }
+
+    private String getPrefix(String fieldName) {
+        if (fieldName == null) {
+            return DEFAULT_PREFIX;
+        }
+        String prefix = prefixes.get(fieldName);
+        if (prefix == null) {
+            prefix = prefixes.computeIfAbsent(fieldName, name -> name + "-");
+        }
+        return prefix;
+    }
+
+    private static int appendHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return offset + digits;
+    }
+}
@@ -17,7 +17,7 @@ package com.github.swierkosz.fixture.generator.values;
 
 import com.github.swierkosz.fixture.generator.ValueContext;
 import com.github.swierkosz.fixture.generator.ValueGenerator;
-import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,7 +44,7 @@ public class SubclassValueGenerator implements ValueGenerator {
     @Override
     public Object generateValue(ValueContext valueContext) {
         Class<?> type = valueContext.getRandom().randomOneOf(implementations);
-        return valueContext.create(valueContext.getFieldName(), new TypeInformationImpl(type));
+        return valueContext.create(valueContext.getFieldName(), TypeInterner.intern(type));
     }
 
 }
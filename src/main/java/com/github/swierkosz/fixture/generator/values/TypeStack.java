@@ -0,0 +1,128 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Depth-indexed stack of types under construction, used for detection of cyclic references.
+ * <p>
+ * Raw types are kept in a separate array, so checking whether a type is already under construction compares
+ * classes by identity and only falls back to structural equality for types sharing the raw type.
+ * Types are never hashed and pushing a type does not allocate, unless the stack has to grow.
+ */
+final class TypeStack {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Class<?>[] rawTypes;
+    private TypeInformation[] types;
+    private String[] fieldNames;
+    private boolean[] elements;
+    private int size;
+
+    TypeStack() {
+        rawTypes = new Class<?>[INITIAL_CAPACITY];
+        types = new TypeInformation[INITIAL_CAPACITY];
+        fieldNames = new String[INITIAL_CAPACITY];
+        elements = new boolean[INITIAL_CAPACITY];
+    }
+
+    private TypeStack(TypeStack source) {
+        rawTypes = Arrays.copyOf(source.rawTypes, source.rawTypes.length);
+        types = Arrays.copyOf(source.types, source.types.length);
+        fieldNames = Arrays.copyOf(source.fieldNames, source.fieldNames.length);
+        elements = Arrays.copyOf(source.elements, source.elements.length);
+        size = source.size;
+    }
+
+    /**
+     * Pushes a type of a value generated for a given field onto the stack, unless it is already under construction.
+     *
+     * @param element true - the value is an element of a collection, map or array generated for the field.
+     * @return true - the type was pushed, false - the type is already on the stack.
+     */
+    boolean push(TypeInformation type, String fieldName, boolean element) {
+        Class<?> rawType = type.getRawType();
+        for (int i = 0; i < size; i++) {
+            if (rawTypes[i] == rawType && (types[i] == type || types[i].equals(type))) {
+                return false;
+            }
+        }
+        if (size == types.length) {
+            rawTypes = Arrays.copyOf(rawTypes, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+            fieldNames = Arrays.copyOf(fieldNames, size * 2);
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        rawTypes[size] = rawType;
+        types[size] = type;
+        fieldNames[size] = fieldName;
+        elements[size] = element;
+        size++;
+        return true;
+    }
+
+    void pop() {
+        size--;
+        rawTypes[size] = null;
+        types[size] = null;
+        fieldNames[size] = null;
+        elements[size] = false;
+    }
+
+    /**
+     * @return An independent stack with the same types, e.g. for constructing a subtree in another thread.
+     */
+    TypeStack copy() {
+        return new TypeStack(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Names of fields under construction joined with dots, starting from the root, with elements marked
+     * by brackets, e.g. "order.items[].name".
+     */
+    String getPath() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (elements[i]) {
+                result.append("[]");
+            } else if (fieldNames[i] != null) {
+                if (result.length() > 0) {
+                    result.append('.');
+                }
+                result.append(fieldNames[i]);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return Types under construction, starting from the root.
+     */
+    List<TypeInformation> toList() {
+        return new ArrayList<>(Arrays.asList(types).subList(0, size));
+    }
+
+}
@@ -23,6 +23,11 @@ import java.util.UUID;
 
 public class UUIDValueGenerator implements ValueGenerator {
 
+    @Override
+    public boolean supports(Class<?> rawType) {
+        return rawType == UUID.class;
+    }
+
     @Override
     public Object generateValue(ValueContext valueContext) {
         if (valueContext.getType().is(UUID.class)) {
@@ -17,19 +17,24 @@ package com.github.swierkosz.fixture.generator.values;
 
 import com.github.swierkosz.fixture.generator.FixtureGenerationException;
 import com.github.swierkosz.fixture.generator.FixtureGeneratorConfiguration;
+import com.github.swierkosz.fixture.generator.GenerationListener;
 import com.github.swierkosz.fixture.generator.TypeInformation;
 import com.github.swierkosz.fixture.generator.ValueContext;
-import com.github.swierkosz.fixture.generator.ValueGenerator;
 import com.github.swierkosz.fixture.generator.util.ExtendedRandom;
+import com.github.swierkosz.fixture.generator.util.SeedScheme;
+import com.github.swierkosz.fixture.generator.util.SizeRange;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.github.swierkosz.fixture.generator.values.NoValue.NO_VALUE;
@@ -39,21 +44,35 @@ public class ValueContextImpl implements ValueContext {
     private final FixtureGeneratorConfiguration configuration;
     private final String fieldName;
     private final TypeInformation type;
-    private final int seed;
-    private final ExtendedRandom random;
-    private final Set<TypeInformation> typesUnderConstruction;
+    private final long seed;
+    private final ConstructionState state;
+    private final boolean element;
+    private final boolean eager;
+    private ExtendedRandom random;
 
-    public ValueContextImpl(FixtureGeneratorConfiguration configuration, String fieldName, TypeInformation type, int seed) {
-        this(configuration, fieldName, type, seed, new LinkedHashSet<>());
+    /**
+     * @param generationPlans Provides generation plans of the configuration, compiled for given types.
+     */
+    public ValueContextImpl(FixtureGeneratorConfiguration configuration, Function<TypeInformation, GenerationPlan> generationPlans, String fieldName, TypeInformation type, long seed) {
+        this(configuration, fieldName, type, seed, new ConstructionState(configuration.getSeedScheme(), generationPlans));
     }
 
-    private ValueContextImpl(FixtureGeneratorConfiguration configuration, String fieldName, TypeInformation type, int seed, Set<TypeInformation> typesUnderConstruction) {
+    private ValueContextImpl(FixtureGeneratorConfiguration configuration, String fieldName, TypeInformation type, long seed, ConstructionState state) {
+        this(configuration, fieldName, type, seed, state, false, false);
+    }
+
+    /**
+     * @param element true - the value is an element of a collection, map or array generated for the field.
+     * @param eager   true - the value is generated now, even if its type is configured to be generated lazily.
+     */
+    private ValueContextImpl(FixtureGeneratorConfiguration configuration, String fieldName, TypeInformation type, long seed, ConstructionState state, boolean element, boolean eager) {
         this.configuration = configuration;
         this.fieldName = fieldName;
         this.type = type;
         this.seed = seed;
-        this.random = new ExtendedRandom(seed);
-        this.typesUnderConstruction = typesUnderConstruction;
+        this.state = state;
+        this.element = element;
+        this.eager = eager;
     }
 
     @Override
@@ -68,6 +87,10 @@ public class ValueContextImpl implements ValueContext {
 
     @Override
     public ExtendedRandom getRandom() {
+        // Many values, e.g. objects populated field by field, never use their random, so it is created on demand
+        if (random == null) {
+            random = state.seedScheme.newRandom(seed);
+        }
         return random;
     }
 
@@ -75,55 +98,165 @@ public class ValueContextImpl implements ValueContext {
         return generateAndPostProcess(this);
     }
 
+    /**
+     * Creates the value using a plan resolved up front, e.g. once for a whole batch of values of the same type.
+     */
+    public Object create(GenerationPlan plan) {
+        Object event = GenerationEvents.beginFixture();
+        Object value = plan.postProcess(generate(plan, this));
+        GenerationEvents.endFixture(event, type, seed);
+        return value;
+    }
+
     @Override
     public Object create(String fieldName, TypeInformation type) {
-        ValueContextImpl valueContext = new ValueContextImpl(configuration, fieldName, type, Objects.hash(fieldName, seed), typesUnderConstruction);
+        ValueContextImpl valueContext = new ValueContextImpl(configuration, fieldName, type, state.seedScheme.childSeed(seed, fieldName), state);
         return generateAndPostProcess(valueContext);
     }
 
     @Override
     public Collection<Object> createCollection(String fieldName, TypeInformation type) {
-        List<Object> result = new ArrayList<>(3);
-        for (int i = 0; i < 3; i++) {
-            ValueContextImpl valueContext = new ValueContextImpl(configuration, fieldName, type, random.nextInt(), typesUnderConstruction);
-            result.add(generateAndPostProcess(valueContext));
-        }
+        int size = getCollectionSize(type);
+        List<Object> result = new ArrayList<>(size);
+        createElements(fieldName, type, size, (element, index) -> result.add(element));
         return result;
     }
 
-    private Object generateAndPostProcess(ValueContext valueContext) {
-        Object value = generate(valueContext);
-        for (Function<Object, Object> transformer : configuration.getTransformers()) {
-            value = transformer.apply(value);
+    @Override
+    public int getCollectionSize(TypeInformation elementType) {
+        SizeRange range = configuration.getCollectionSize(fieldName, elementType.getRawType());
+        // Fixed sizes do not consume random values, so they do not affect values of elements
+        return range.isFixed() ? range.getMin() : range.pick(getRandom());
+    }
+
+    @Override
+    public void createElements(String fieldName, TypeInformation type, int size, ObjIntConsumer<Object> consumer) {
+        int parallelThreshold = configuration.getParallelThreshold();
+        if (parallelThreshold > 0 && size >= parallelThreshold) {
+            createElementsInParallel(fieldName, type, size, consumer);
+            return;
         }
-        return value;
+        Supplier<ExtendedRandom> collectionRandom = this::getRandom;
+        for (int i = 0; i < size; i++) {
+            long elementSeed = state.seedScheme.elementSeed(seed, fieldName, i, collectionRandom);
+            ValueContextImpl valueContext = new ValueContextImpl(configuration, fieldName, type, elementSeed, state, true, false);
+            consumer.accept(generateAndPostProcess(valueContext), i);
+        }
+    }
+
+    /**
+     * Creates elements as fork/join tasks. Seeds of all elements are drawn up front, in the same order as in
+     * sequential generation, and each task tracks types under construction on its own copy of the stack,
+     * so the elements are identical to the ones generated sequentially.
+     */
+    private void createElementsInParallel(String fieldName, TypeInformation type, int size, ObjIntConsumer<Object> consumer) {
+        Supplier<ExtendedRandom> collectionRandom = this::getRandom;
+        long[] seeds = new long[size];
+        for (int i = 0; i < size; i++) {
+            seeds[i] = state.seedScheme.elementSeed(seed, fieldName, i, collectionRandom);
+        }
+        Object[] elements = new Object[size];
+        int batchSize = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * 8));
+        ElementsTask task = new ElementsTask(fieldName, type, seeds, elements, 0, size, batchSize);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        for (int i = 0; i < size; i++) {
+            consumer.accept(elements[i], i);
+        }
+    }
+
+    /**
+     * Returns a factory creating the value of this context later, equal to the value that would be created now.
+     * The factory starts with a copy of types currently under construction.
+     */
+    private Supplier<Object> deferred() {
+        ConstructionState deferredState = new ConstructionState(state);
+        return () -> new ValueContextImpl(configuration, fieldName, type, seed, deferredState, element, true).create();
+    }
+
+    /**
+     * Creates an array of primitives, setting its components directly instead of generating each of them
+     * in its own context. Components are equal to the ones created by {@link #createElements}.
+     *
+     * @return The array, or null if components are not primitives produced by a built-in generator.
+     */
+    Object createPrimitiveArray(String fieldName, TypeInformation componentType, int size) {
+        PrimitiveArrayFiller filler = PrimitiveArrayFiller.forComponentType(componentType.getRawType());
+        if (filler == null || !state.generationPlans.apply(componentType).isProducedByBuiltInGenerator(filler.getBoxedType())) {
+            return null;
+        }
+        GenerationListener listener = configuration.getListener();
+        long start = listener == null ? 0 : System.nanoTime();
+        Object array = Array.newInstance(componentType.getRawType(), size);
+        Supplier<ExtendedRandom> collectionRandom = this::getRandom;
+        // A single random is re-seeded for each component, which is equivalent to creating a random per component
+        ExtendedRandom componentRandom = state.seedScheme.newRandom(0);
+        for (int i = 0; i < size; i++) {
+            componentRandom.setSeed(state.seedScheme.elementSeed(seed, fieldName, i, collectionRandom));
+            filler.set(array, i, componentRandom);
+        }
+        if (listener != null) {
+            listener.valuesGenerated(componentType, size, System.nanoTime() - start);
+        }
+        return array;
     }
 
-    private Object generate(ValueContext valueContext) {
-        if (typesUnderConstruction.add(valueContext.getType())) {
+    private Object generateAndPostProcess(ValueContextImpl valueContext) {
+        if (!valueContext.eager && configuration.isLazy(valueContext.type.getRawType())) {
+            return LazyValueHandler.createProxy(valueContext.type.getRawType(), valueContext.deferred());
+        }
+        GenerationPlan plan = state.generationPlans.apply(valueContext.getType());
+        return plan.postProcess(generate(plan, valueContext));
+    }
+
+    private Object generate(GenerationPlan plan, ValueContextImpl valueContext) {
+        GenerationListener listener = configuration.getListener();
+        if (listener == null) {
+            return generate(plan, valueContext, null);
+        }
+        long start = System.nanoTime();
+        try {
+            return generate(plan, valueContext, listener);
+        } finally {
+            listener.valuesGenerated(valueContext.getType(), 1, System.nanoTime() - start);
+        }
+    }
+
+    private Object generate(GenerationPlan plan, ValueContextImpl valueContext, GenerationListener listener) {
+        TypeStack typesUnderConstruction = state.typesUnderConstruction;
+        if (typesUnderConstruction.push(valueContext.type, valueContext.fieldName, valueContext.element)) {
+            Object event = GenerationEvents.beginConstruction();
             try {
-                for (ValueGenerator generator : configuration.getGenerators()) {
-                    Object value = generator.generateValue(valueContext);
-                    if (value != NO_VALUE) {
-                        return value;
-                    }
+                Object value = listener == null ? plan.generate(valueContext) : plan.generate(valueContext, listener);
+                if (value != NO_VALUE) {
+                    return value;
                 }
-                return handleNoValue(valueContext);
+                return handleNoValue(valueContext, listener);
             } catch (FixtureGenerationException e) {
                 // No need to wrap it, just propagate
                 throw e;
             } catch (Exception e) {
                 throw new FixtureGenerationException("Exception was thrown during construction of: " + valueContext.getType().getRawType(), e);
             } finally {
-                typesUnderConstruction.remove(valueContext.getType());
+                GenerationEvents.endConstruction(event, valueContext.getType(), typesUnderConstruction);
+                typesUnderConstruction.pop();
             }
         } else {
+            if (listener != null) {
+                listener.cyclicReferenceFound(valueContext.getType());
+            }
             return handleCyclicReference(valueContext);
         }
     }
 
-    private Object handleNoValue(ValueContext valueContext) {
+    private Object handleNoValue(ValueContext valueContext, GenerationListener listener) {
         if (configuration.isIgnoreNoValue()) {
+            if (listener != null) {
+                listener.noValueIgnored(valueContext.getType());
+            }
             return null;
         } else {
             throw new FixtureGenerationException("Failed to construct: " + valueContext.getType().getRawType() + getCallTrace(true));
@@ -139,7 +272,7 @@ public class ValueContextImpl implements ValueContext {
     }
 
     private String getCallTrace(boolean skipLast) {
-        List<TypeInformation> types = new ArrayList<>(typesUnderConstruction);
+        List<TypeInformation> types = state.typesUnderConstruction.toList();
         if (skipLast) {
             types.remove(types.size() - 1);
         }
@@ -164,4 +297,66 @@ public class ValueContextImpl implements ValueContext {
         }
     }
 
+    private final class ElementsTask extends RecursiveAction {
+
+        private final String fieldName;
+        private final TypeInformation type;
+        private final long[] seeds;
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        private ElementsTask(String fieldName, TypeInformation type, long[] seeds, Object[] elements,
+                             int from, int to, int batchSize) {
+            this.fieldName = fieldName;
+            this.type = type;
+            this.seeds = seeds;
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ElementsTask(fieldName, type, seeds, elements, from, middle, batchSize),
+                        new ElementsTask(fieldName, type, seeds, elements, middle, to, batchSize));
+                return;
+            }
+            ConstructionState taskState = new ConstructionState(state);
+            for (int i = from; i < to; i++) {
+                ValueContextImpl valueContext = new ValueContextImpl(configuration, fieldName, type, seeds[i], taskState, true, false);
+                elements[i] = valueContext.create();
+            }
+        }
+
+    }
+
+    private static final class ConstructionState {
+
+        private final SeedScheme seedScheme;
+        private final Function<TypeInformation, GenerationPlan> generationPlans;
+        private final TypeStack typesUnderConstruction;
+
+        private ConstructionState(SeedScheme seedScheme, Function<TypeInformation, GenerationPlan> generationPlans) {
+            this.seedScheme = seedScheme;
+            this.generationPlans = generationPlans;
+            this.typesUnderConstruction = new TypeStack();
+        }
+
+        /**
+         * Creates a state for constructing a subtree apart from the parent, either in parallel or later,
+         * starting with the same types under construction.
+         */
+        private ConstructionState(ConstructionState parent) {
+            this.seedScheme = parent.seedScheme;
+            this.generationPlans = parent.generationPlans;
+            this.typesUnderConstruction = parent.typesUnderConstruction.copy();
+        }
+
+    }
+
 }
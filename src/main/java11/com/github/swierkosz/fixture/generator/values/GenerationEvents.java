@@ -0,0 +1,202 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.reflection.ConstructorInformation;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.stream.Collectors;
+
+/**
+ * Hooks for Java Flight Recorder events.
+ * <p>
+ * This is the Java 11 variant of the class. Events are created only while a recording has them enabled,
+ * so the hooks cost a single check otherwise. Thresholds can be changed in recording settings, e.g.
+ * {@code jdk.jfr.Recording.enable("fixture.Construction").withThreshold(Duration.ofMillis(10))}.
+ */
+final class GenerationEvents {
+
+    private static final EventType FIXTURE = EventType.getEventType(FixtureEvent.class);
+    private static final EventType CONSTRUCTION = EventType.getEventType(ConstructionEvent.class);
+    private static final EventType CONSTRUCTOR_FALLBACK = EventType.getEventType(ConstructorFallbackEvent.class);
+    private static final EventType TRANSFORMATION = EventType.getEventType(TransformationEvent.class);
+
+    private GenerationEvents() {
+    }
+
+    static Object beginFixture() {
+        if (!FIXTURE.isEnabled()) {
+            return null;
+        }
+        FixtureEvent event = new FixtureEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endFixture(Object event, TypeInformation type, long seed) {
+        if (event != null) {
+            FixtureEvent fixtureEvent = (FixtureEvent) event;
+            fixtureEvent.end();
+            if (fixtureEvent.shouldCommit()) {
+                fixtureEvent.type = type.getTypeName();
+                fixtureEvent.seed = seed;
+                fixtureEvent.commit();
+            }
+        }
+    }
+
+    static Object beginConstruction() {
+        if (!CONSTRUCTION.isEnabled()) {
+            return null;
+        }
+        ConstructionEvent event = new ConstructionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endConstruction(Object event, TypeInformation type, TypeStack typesUnderConstruction) {
+        if (event != null) {
+            ConstructionEvent constructionEvent = (ConstructionEvent) event;
+            constructionEvent.end();
+            if (constructionEvent.shouldCommit()) {
+                constructionEvent.type = type.getTypeName();
+                constructionEvent.fieldPath = typesUnderConstruction.getPath();
+                constructionEvent.depth = typesUnderConstruction.size();
+                constructionEvent.commit();
+            }
+        }
+    }
+
+    static Object beginConstructorAttempt() {
+        if (!CONSTRUCTOR_FALLBACK.isEnabled()) {
+            return null;
+        }
+        ConstructorFallbackEvent event = new ConstructorFallbackEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endConstructorAttempt(Object event, TypeInformation type, ConstructorInformation constructor, Exception failure) {
+        if (event != null && failure != null) {
+            ConstructorFallbackEvent fallbackEvent = (ConstructorFallbackEvent) event;
+            fallbackEvent.end();
+            if (fallbackEvent.shouldCommit()) {
+                fallbackEvent.type = type.getTypeName();
+                fallbackEvent.constructor = constructor.getParameterTypes().stream()
+                        .map(TypeInformation::getTypeName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+                fallbackEvent.failure = String.valueOf(failure instanceof InvocationTargetException ? failure.getCause() : failure);
+                fallbackEvent.commit();
+            }
+        }
+    }
+
+    static Object beginTransformation() {
+        if (!TRANSFORMATION.isEnabled()) {
+            return null;
+        }
+        TransformationEvent event = new TransformationEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endTransformation(Object event, Object value) {
+        if (event != null) {
+            TransformationEvent transformationEvent = (TransformationEvent) event;
+            transformationEvent.end();
+            if (transformationEvent.shouldCommit()) {
+                transformationEvent.valueClass = value == null ? null : value.getClass();
+                transformationEvent.commit();
+            }
+        }
+    }
+
+    @Name("fixture.Fixture")
+    @Label("Fixture Creation")
+    @Description("Creation of a requested fixture, including all of its values")
+    @Category("Fixture Generator")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static class FixtureEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Seed")
+        long seed;
+
+    }
+
+    @Name("fixture.Construction")
+    @Label("Value Construction")
+    @Description("Generation of a value of a single type, including its nested values")
+    @Category("Fixture Generator")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static class ConstructionEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Field Path")
+        String fieldPath;
+
+        @Label("Depth")
+        int depth;
+
+    }
+
+    @Name("fixture.ConstructorFallback")
+    @Label("Constructor Fallback")
+    @Description("Failed attempt to construct an object, after which the next constructor is tried")
+    @Category("Fixture Generator")
+    @StackTrace(false)
+    static class ConstructorFallbackEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Constructor Parameters")
+        String constructor;
+
+        @Label("Failure")
+        String failure;
+
+    }
+
+    @Name("fixture.Transformation")
+    @Label("Transformation")
+    @Description("Execution of transformers and interceptors on a generated value")
+    @Category("Fixture Generator")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static class TransformationEvent extends Event {
+
+        @Label("Value Class")
+        Class<?> valueClass;
+
+    }
+
+}
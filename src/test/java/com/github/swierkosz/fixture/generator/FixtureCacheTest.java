@@ -0,0 +1,138 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.io.FixtureSnapshot;
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureCacheTest {
+
+    private static final TypeInformation TYPE = TypeInterner.intern(List.class);
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFixtures() {
+        // Given
+        int size = FixtureSnapshot.of(list(0)).getSize();
+        FixtureCache cache = new FixtureCache(2L * size);
+        cache.get(1, TYPE, 0, () -> list(0));
+        cache.get(1, TYPE, 1, () -> list(1));
+        cache.get(1, TYPE, 0, () -> list(-1));
+
+        // When
+        cache.get(1, TYPE, 2, () -> list(2));
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getWeight()).isEqualTo(2L * size);
+        assertThat(cache.get(1, TYPE, 0, () -> list(-1))).isEqualTo(list(0));
+        assertThat(cache.get(1, TYPE, 2, () -> list(-1))).isEqualTo(list(2));
+        assertThat(cache.get(1, TYPE, 1, () -> list(-1))).isEqualTo(list(-1));
+        assertThat(cache.get(2, TYPE, 2, () -> list(-1))).isEqualTo(list(-1));
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(3);
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotCacheFixturesThatCannotBeCopied() {
+        // Given
+        FixtureCache cache = new FixtureCache(1024);
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Runnable.class}, (p, m, a) -> null);
+
+        // When
+        Object first = cache.get(1, TYPE, 0, () -> proxy);
+        Object second = cache.get(1, TYPE, 0, () -> Arrays.asList(1, 2));
+
+        // Then
+        assertThat(first).isSameAs(proxy);
+        assertThat(second).isEqualTo(Arrays.asList(1, 2));
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getStatistics().getHitCount()).isZero();
+    }
+
+    @Test
+    void shouldNotEncodeFixturesOfUncacheableTypeAgainUntilVersionChanges() {
+        // Given
+        FixtureCache cache = new FixtureCache(1024);
+        Node node = new Node();
+        node.next = node;
+        cache.get(1, TYPE, 0, () -> node);
+
+        // When
+        cache.get(1, TYPE, 1, () -> list(1));
+        cache.get(1, TYPE, 1, () -> list(1));
+        cache.get(2, TYPE, 1, () -> list(1));
+        Object result = cache.get(2, TYPE, 1, () -> list(-1));
+
+        // Then
+        assertThat(result).isEqualTo(list(1));
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getStatistics().getUncacheableCount()).isEqualTo(2);
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(2);
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheFixturesWithCyclicReferences() {
+        // Given
+        FixtureCache cache = new FixtureCache(1024);
+        Node node = new Node();
+        node.next = new Node();
+        node.next.next = node;
+
+        // When
+        Object first = cache.get(1, TYPE, 0, () -> node);
+        Object second = cache.get(1, TYPE, 0, () -> Arrays.asList(1, 2));
+
+        // Then
+        assertThat(first).isSameAs(node);
+        assertThat(second).isEqualTo(Arrays.asList(1, 2));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldCacheFixturesReferringToTheSameValueTwice() {
+        // Given
+        FixtureCache cache = new FixtureCache(1024);
+        Node node = new Node();
+        List<Node> nodes = new ArrayList<>(Arrays.asList(node, node));
+
+        // When
+        cache.get(1, TYPE, 0, () -> nodes);
+        Object result = cache.get(1, TYPE, 0, () -> null);
+
+        // Then
+        assertThat(result).asList().hasSize(2).doesNotContainNull();
+        assertThat(((List<?>) result).get(0)).isNotSameAs(((List<?>) result).get(1));
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(1);
+    }
+
+    private static List<Integer> list(int value) {
+        return new ArrayList<>(Arrays.asList(value, value));
+    }
+
+    private static class Node {
+        private Node next;
+    }
+
+}
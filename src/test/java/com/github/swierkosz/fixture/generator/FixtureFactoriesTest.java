@@ -0,0 +1,150 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureFactoriesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSkipFactoriesThatCannotBeLoaded() throws Exception {
+        // Given
+        registerFactories("com.example.MissingFixtureFactory", TestFixtureFactory.class.getName());
+
+        try (URLClassLoader classLoader = new IsolatingClassLoader(directory)) {
+            // When
+            List<FixtureFactory> result = loadUsing(classLoader);
+
+            // Then
+            assertThat(result)
+                    .singleElement()
+                    .satisfies(factory -> assertThat(factory.getClass().getName()).isEqualTo(TestFixtureFactory.class.getName()));
+        }
+    }
+
+    @Test
+    void shouldNotPreventClassLoaderOfFactoriesFromBeingCollected() throws Exception {
+        // Given
+        registerFactories(TestFixtureFactory.class.getName());
+        WeakReference<ClassLoader> reference = loadAndForget();
+
+        // When
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertThat(reference.get()).isNull();
+    }
+
+    private WeakReference<ClassLoader> loadAndForget() throws Exception {
+        IsolatingClassLoader classLoader = new IsolatingClassLoader(directory);
+        assertThat(loadUsing(classLoader)).hasSize(1);
+        classLoader.close();
+        return new WeakReference<>(classLoader);
+    }
+
+    private void registerFactories(String... classNames) throws IOException {
+        Path services = directory.resolve("META-INF/services/" + FixtureFactory.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.write(services, Arrays.asList(classNames), StandardCharsets.UTF_8);
+    }
+
+    private static List<FixtureFactory> loadUsing(ClassLoader classLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return FixtureFactories.load();
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    /**
+     * Defines its own copy of the test factory, like a class loader of a web application would.
+     */
+    private static class IsolatingClassLoader extends URLClassLoader {
+
+        private IsolatingClassLoader(Path directory) throws IOException {
+            super(new URL[]{directory.toUri().toURL()}, FixtureFactoriesTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(TestFixtureFactory.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> result = findLoadedClass(name);
+                if (result == null) {
+                    String resource = name.replace('.', '/') + ".class";
+                    try (InputStream in = getParent().getResourceAsStream(resource)) {
+                        byte[] bytes = readAll(in);
+                        result = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return result;
+            }
+        }
+
+        private static byte[] readAll(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+
+    }
+
+    public static class TestFixtureFactory implements FixtureFactory {
+
+        @Override
+        public Class<?> getTargetType() {
+            return TestFixtureFactory.class;
+        }
+
+        @Override
+        public Object generateValue(ValueContext valueContext) {
+            return NO_VALUE;
+        }
+
+    }
+
+}
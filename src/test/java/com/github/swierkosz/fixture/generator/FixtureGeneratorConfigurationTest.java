@@ -0,0 +1,67 @@
+package com.github.swierkosz.fixture.generator;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.reflection.TypeInterner;
+import com.github.swierkosz.fixture.generator.values.ValueContextImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+class FixtureGeneratorConfigurationTest {
+
+    private static final TypeInformation TYPE = TypeInterner.intern(String.class);
+
+    @Test
+    void shouldApplyChangesOfReturnedCollections() {
+        // Given
+        FixtureGeneratorConfiguration configuration = new FixtureGeneratorConfiguration();
+        create(configuration);
+        long version = configuration.getVersion();
+
+        // When
+        configuration.getGenerators().clear();
+        configuration.getGenerators().add(valueContext -> "generated");
+        configuration.getTransformers().add(value -> value + " and transformed");
+
+        // Then
+        assertThat(create(configuration)).isEqualTo("generated and transformed");
+        assertThat(configuration.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void shouldRejectChangesOfCollectionsReturnedByFrozenConfiguration() {
+        // Given
+        FixtureGeneratorConfiguration configuration = new FixtureGeneratorConfiguration(new FixtureGeneratorConfiguration(), true);
+        Function<Object, Object> transformer = value -> value;
+
+        // When
+        Exception caughtException = catchException(() -> configuration.getTransformers().add(transformer));
+
+        // Then
+        assertThat(caughtException).isInstanceOf(IllegalStateException.class);
+        assertThat(configuration.getTransformers()).isEmpty();
+    }
+
+    private static Object create(FixtureGeneratorConfiguration configuration) {
+        return new ValueContextImpl(configuration, configuration::getGenerationPlan, null, TYPE, 0)
+                .create(configuration.getGenerationPlan(TYPE));
+    }
+
+}
@@ -15,10 +15,19 @@ package com.github.swierkosz.fixture.generator;
  *    limitations under the License.
  */
 
+import com.github.swierkosz.fixture.generator.io.FixtureCorpus;
+import com.github.swierkosz.fixture.generator.util.GenerationMetrics;
+import com.github.swierkosz.fixture.generator.util.SeedScheme;
+import com.github.swierkosz.fixture.generator.values.StringValueGenerator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -35,6 +44,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -64,6 +74,10 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
@@ -212,6 +226,22 @@ class FixtureGeneratorTest {
         VALUE1, VALUE2, VALUE3
     }
 
+    @Test
+    void shouldCreateDeterministicStringsWithFastStrings() {
+        // Given
+        fixtureGenerator.configure()
+                .fastStrings();
+
+        // When
+        TestClassWithMiscTypes result = fixtureGenerator.createDeterministic(TestClassWithMiscTypes.class);
+
+        // Then
+        assertThat(result.stringField).matches("stringField-[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+        assertThat(result.optional).hasValueSatisfying(value -> assertThat(value).startsWith("optional-").hasSize(45));
+        assertThat(fixtureGenerator.createDeterministic(TestClassWithMiscTypes.class).stringField).isEqualTo(result.stringField);
+        assertThat(fixtureGenerator.createDeterministic(String.class)).startsWith("string-");
+    }
+
     @Test
     void shouldIgnoreStaticFields() {
         // When
@@ -736,6 +766,525 @@ class FixtureGeneratorTest {
         assertThat(result).isEqualTo("Strings everywhere");
     }
 
+    @Test
+    void shouldCreateEqualResultsWhenCalledRepeatedly() {
+        // Given
+        TestClassWithPrimitiveFields first = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+
+        // When
+        TestClassWithPrimitiveFields second = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+
+        // Then
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+    }
+
+    @Test
+    void shouldApplyConfigurationChangedAfterGeneration() {
+        // Given
+        fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+        fixtureGenerator.configure()
+                .defineGenerator(int.class, valueContext -> 42);
+
+        // When
+        TestClassWithPrimitiveFields result = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+
+        // Then
+        assertThat(result.integerField).isEqualTo(42);
+        assertThat(result.longField).isEqualTo(9150660109912313462L);
+    }
+
+    @Test
+    void shouldFallBackToNextConstructorOnEveryCall() {
+        // Given
+        TestClassWithFailingConstructor first = fixtureGenerator.createDeterministic(TestClassWithFailingConstructor.class);
+        int failedAttempts = TestClassWithFailingConstructor.failedAttempts.get();
+
+        // When
+        TestClassWithFailingConstructor second = fixtureGenerator.createDeterministic(TestClassWithFailingConstructor.class);
+
+        // Then
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        assertThat(second.stringField).isEqualTo("stringField-09568fd4-7072-3c1d-81dd-f383836cc584");
+        assertThat(TestClassWithFailingConstructor.failedAttempts.get()).isEqualTo(failedAttempts + 1);
+    }
+
+    @Test
+    void shouldFallBackToNextConstructorWhenConstructorThrowsError() {
+        // When
+        TestClassWithConstructorThrowingError result = fixtureGenerator.createDeterministic(TestClassWithConstructorThrowingError.class);
+
+        // Then
+        assertThat(result.stringField).isEqualTo("stringField-09568fd4-7072-3c1d-81dd-f383836cc584");
+    }
+
+    @Test
+    void shouldChooseConstructorIndependentlyOfPreviousCalls() {
+        // Given
+        new FixtureGenerator().createDeterministic(TestClassWithConstructorFailingForSomeArguments.class);
+        String expectedConstructor = TestClassWithConstructorFailingForSomeArguments.lastConstructor;
+        for (int i = 0; i < 20; i++) {
+            fixtureGenerator.createRandomized(TestClassWithConstructorFailingForSomeArguments.class);
+        }
+
+        // When
+        fixtureGenerator.createDeterministic(TestClassWithConstructorFailingForSomeArguments.class);
+
+        // Then
+        assertThat(expectedConstructor).isEqualTo("(int)");
+        assertThat(TestClassWithConstructorFailingForSomeArguments.lastConstructor).isEqualTo(expectedConstructor);
+    }
+
+    private static class TestClassWithFailingConstructor {
+
+        private static final AtomicInteger failedAttempts = new AtomicInteger();
+
+        private final String stringField;
+
+        private TestClassWithFailingConstructor() {
+            failedAttempts.incrementAndGet();
+            throw new IllegalStateException("Failing constructor");
+        }
+
+        private TestClassWithFailingConstructor(String stringField) {
+            this.stringField = stringField;
+        }
+
+    }
+
+    private static class TestClassWithConstructorThrowingError {
+
+        private final String stringField;
+
+        private TestClassWithConstructorThrowingError() {
+            throw new AssertionError("Failing constructor");
+        }
+
+        private TestClassWithConstructorThrowingError(String stringField) {
+            this.stringField = stringField;
+        }
+
+    }
+
+    private static class TestClassWithConstructorFailingForSomeArguments {
+
+        private static String lastConstructor;
+
+        private TestClassWithConstructorFailingForSomeArguments(int x) {
+            if (x % 2 == 0) {
+                throw new IllegalArgumentException("Even x");
+            }
+            lastConstructor = "(int)";
+        }
+
+        private TestClassWithConstructorFailingForSomeArguments(int x, int y) {
+            lastConstructor = "(int, int)";
+        }
+
+    }
+
+    @Test
+    void shouldNotConsultGeneratorForUnsupportedTypes() {
+        // Given
+        fixtureGenerator.configure()
+                .defineGenerator(new ValueGenerator() {
+                    @Override
+                    public Object generateValue(ValueContext valueContext) {
+                        return "Strings everywhere";
+                    }
+
+                    @Override
+                    public boolean supports(Class<?> rawType) {
+                        return rawType == String.class;
+                    }
+                });
+
+        // When
+        TestClassWithMiscTypes result = fixtureGenerator.createDeterministic(TestClassWithMiscTypes.class);
+
+        // Then
+        assertThat(result.stringField).isEqualTo("Strings everywhere");
+        assertThat(result.objectField).isExactlyInstanceOf(Object.class);
+        assertThat(result.uuidField).isEqualTo(UUID.fromString("4569f91d-2dd5-35cd-8603-3f62db2d373b"));
+    }
+
+    @Test
+    void shouldCreateDeterministicUsingSeedScheme() {
+        // Given
+        TestClassWithPrimitiveFields legacy = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+        fixtureGenerator.configure()
+                .seedScheme(SeedScheme.V2);
+
+        // When
+        TestClassWithPrimitiveFields first = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+        TestClassWithPrimitiveFields second = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class);
+
+        // Then
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        assertThat(first.longField).isNotEqualTo(legacy.longField);
+        assertThat(fixtureGenerator.createDeterministic(TestClassWithCollections.class).list).hasSize(3).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldCreateCollectionsOfConfiguredSize() {
+        // Given
+        fixtureGenerator.configure()
+                .collectionSize(5)
+                .collectionSize(UUID.class, 7)
+                .collectionSize("arrayList", 1000);
+
+        // When
+        TestClassWithCollections collections = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithGenericMaps maps = fixtureGenerator.createDeterministic(TestClassWithGenericMaps.class);
+        TestClassWithArrays arrays = fixtureGenerator.createDeterministic(TestClassWithArrays.class);
+
+        // Then
+        assertThat(collections.list).hasSize(5);
+        assertThat(collections.arrayList).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(maps.map).hasSize(5);
+        assertThat(arrays.uuidArray).hasSize(7);
+        assertThat(arrays.integerArray).hasSize(5);
+    }
+
+    @Test
+    void shouldApplyConfigurationToComponentsOfPrimitiveArrays() {
+        // Given
+        fixtureGenerator.configure()
+                .defineGenerator(byte.class, valueContext -> (byte) 7)
+                .transform(Integer.class, value -> -value)
+                .collectionSize("longArray", 100_000);
+        TestClassWithArrays expected = new FixtureGenerator().createDeterministic(TestClassWithArrays.class);
+
+        // When
+        TestClassWithArrays result = fixtureGenerator.createDeterministic(TestClassWithArrays.class);
+
+        // Then
+        assertThat(result.byteArray).containsOnly(7);
+        assertThat(result.integerArray).containsExactly(-expected.integerArray[0], -expected.integerArray[1], -expected.integerArray[2]);
+        assertThat(result.longArray).hasSize(100_000).startsWith(expected.longArray);
+        assertThat(result.doubleArray).containsExactly(expected.doubleArray);
+    }
+
+    @Test
+    void shouldCreateEqualResultsInParallel() {
+        // Given
+        fixtureGenerator.configure()
+                .collectionSize(2_000)
+                .collectionSize("list", 3)
+                .ignoreCyclicReferences();
+        FixtureGenerator parallelFixtureGenerator = fixtureGenerator.copy()
+                .configure()
+                .parallel(100)
+                .done();
+
+        // When
+        TestClassWithCollections sequential = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithCollections parallel = parallelFixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithGenericMaps sequentialMaps = fixtureGenerator.createDeterministic(TestClassWithGenericMaps.class);
+        TestClassWithGenericMaps parallelMaps = parallelFixtureGenerator.createDeterministic(TestClassWithGenericMaps.class);
+        TestClassWithCyclicCollection sequentialCyclic = fixtureGenerator.createDeterministic(TestClassWithCyclicCollection.class);
+        TestClassWithCyclicCollection parallelCyclic = parallelFixtureGenerator.createDeterministic(TestClassWithCyclicCollection.class);
+
+        // Then
+        assertThat(parallel).usingRecursiveComparison().isEqualTo(sequential);
+        assertThat(parallel.arrayList).hasSize(2_000);
+        assertThat(parallelMaps).usingRecursiveComparison().isEqualTo(sequentialMaps);
+        assertThat(parallelCyclic).usingRecursiveComparison().isEqualTo(sequentialCyclic);
+        assertThat(parallelCyclic.children).hasSize(2_000).allSatisfy(child -> assertThat(child).isNull());
+    }
+
+    @Test
+    void shouldWriteDeterministicJsonLines() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<TestClassWithSimpleFields> expected = fixtureGenerator.createDeterministic(TestClassWithSimpleFields.class, 2, 3);
+
+        // When
+        fixtureGenerator.writeDeterministicJsonLines(TestClassWithSimpleFields.class, 2, 3, out);
+
+        // Then
+        List<String> lines = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(lines.get(i)).isEqualTo("{\"stringField\":\"" + expected.get(i).stringField + "\"," +
+                    "\"intField\":" + expected.get(i).intField + "}");
+        }
+    }
+
+    @Test
+    void shouldWriteDeterministicCorpus(@TempDir Path directory) throws Exception {
+        assertCorpusEqualToCreated(TestClassWithMiscTypes.class, directory);
+        assertCorpusEqualToCreated(TestClassWithArrays.class, directory);
+        assertCorpusEqualToCreated(TestClassWithCollections.class, directory);
+        assertCorpusEqualToCreated(TestClassWithJavaTimeClasses.class, directory);
+    }
+
+    private <T> void assertCorpusEqualToCreated(Class<T> type, Path directory) throws Exception {
+        // Given
+        Path path = directory.resolve(type.getSimpleName());
+        List<T> expected = fixtureGenerator.createDeterministic(type, 2, 3);
+
+        // When
+        fixtureGenerator.writeDeterministicCorpus(type, 2, 3, path);
+
+        // Then
+        try (FixtureCorpus<T> corpus = FixtureCorpus.open(path, type)) {
+            assertThat(corpus.size()).isEqualTo(3);
+            for (int i = 2; i >= 0; i--) {
+                assertThat(corpus.get(i))
+                        .usingRecursiveComparison()
+                        .ignoringFieldsOfTypes(Object.class)
+                        .isEqualTo(expected.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldCreateLazyValuesEqualToEagerOnes() {
+        // Given
+        FixtureGenerator lazyFixtureGenerator = fixtureGenerator.copy()
+                .configure()
+                .lazy(List.class, Set.class)
+                .done();
+
+        // When
+        TestClassWithCollections eager = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithCollections lazy = lazyFixtureGenerator.createDeterministic(TestClassWithCollections.class);
+
+        // Then
+        assertThat(Proxy.isProxyClass(lazy.list.getClass())).isTrue();
+        assertThat(Proxy.isProxyClass(lazy.set.getClass())).isTrue();
+        assertThat(lazy.list).isEqualTo(eager.list);
+        assertThat(lazy.set).isEqualTo(eager.set);
+        assertThat(lazy.arrayList).isEqualTo(eager.arrayList);
+        assertThat(lazy.list.hashCode()).isEqualTo(eager.list.hashCode());
+        assertThat(lazy.list.toString()).isEqualTo(eager.list.toString());
+    }
+
+    @Test
+    void shouldGenerateLazyValueOnFirstAccessOnly() {
+        // Given
+        AtomicInteger generatedIntegers = new AtomicInteger();
+        fixtureGenerator.configure()
+                .transform(Integer.class, value -> {
+                    generatedIntegers.incrementAndGet();
+                    return value;
+                })
+                .lazy(List.class);
+
+        // When
+        TestClassWithLazyList result = fixtureGenerator.createDeterministic(TestClassWithLazyList.class);
+        int generatedBeforeAccess = generatedIntegers.get();
+        int size = result.list.size();
+        int generatedAfterAccess = generatedIntegers.get();
+        result.list.get(0);
+
+        // Then
+        assertThat(generatedBeforeAccess).isZero();
+        assertThat(size).isEqualTo(3);
+        assertThat(generatedAfterAccess).isEqualTo(3);
+        assertThat(generatedIntegers).hasValue(3);
+    }
+
+    @Test
+    void shouldInvokeLazyValuesOfInterfacesThatAreNotPublic() {
+        // Given
+        fixtureGenerator.configure()
+                .subclass(TestLazyInterface.class, TestLazyImplementation.class)
+                .lazy(TestLazyInterface.class);
+
+        // When
+        TestClassWithLazyInterface result = fixtureGenerator.createDeterministic(TestClassWithLazyInterface.class);
+
+        // Then
+        assertThat(Proxy.isProxyClass(result.value.getClass())).isTrue();
+        assertThat(result.value.getValue()).isNotNull();
+        assertThat(result.value.getValue()).isEqualTo(result.value.getValue());
+    }
+
+    @Test
+    void shouldRethrowExceptionsOfLazyValuesAsTheyAre() {
+        // Given
+        fixtureGenerator.configure()
+                .subclass(TestLazyInterface.class, TestFailingLazyImplementation.class)
+                .lazy(TestLazyInterface.class);
+        TestClassWithLazyInterface result = fixtureGenerator.createDeterministic(TestClassWithLazyInterface.class);
+
+        // When
+        Exception exception = catchException(() -> result.value.getValue());
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failing method");
+    }
+
+    @Test
+    void shouldRejectLazyClasses() {
+        // When
+        Exception exception = catchException(() -> fixtureGenerator.configure().lazy(ArrayList.class));
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Only interfaces can be generated lazily: java.util.ArrayList");
+    }
+
+    @Test
+    void shouldReturnCopiesOfCachedDeterministicFixtures() {
+        // Given
+        TestClassWithCollections expected = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        fixtureGenerator.configure()
+                .cache();
+
+        // When
+        TestClassWithCollections first = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        first.list.clear();
+        TestClassWithCollections second = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithCollections third = fixtureGenerator.freeze().createDeterministic(TestClassWithCollections.class);
+
+        // Then
+        assertThat(second).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(third).usingRecursiveComparison().isEqualTo(expected).isNotSameAs(second);
+        assertThat(fixtureGenerator.createDeterministic(TestClassWithCollections.class, 1, 2))
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(new FixtureGenerator().createDeterministic(TestClassWithCollections.class, 1, 2));
+        assertThat(fixtureGenerator.getCacheStatistics().getHitCount()).isEqualTo(2);
+        assertThat(fixtureGenerator.getCacheStatistics().getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotReuseCachedFixturesAfterConfigurationChanges() {
+        // Given
+        fixtureGenerator.configure()
+                .cache();
+        TestClassWithIntegerMap before = fixtureGenerator.createDeterministic(TestClassWithIntegerMap.class);
+
+        // When
+        fixtureGenerator.configure()
+                .collectionSize(1);
+        TestClassWithIntegerMap after = fixtureGenerator.createDeterministic(TestClassWithIntegerMap.class);
+
+        // Then
+        assertThat(before.map).hasSize(3);
+        assertThat(after.map).hasSize(1);
+        assertThat(fixtureGenerator.getCacheStatistics().getHitCount()).isZero();
+        assertThat(new FixtureGenerator().getCacheStatistics()).isNull();
+    }
+
+    @Test
+    void shouldCollectGenerationMetrics() {
+        // Given
+        GenerationMetrics metrics = new GenerationMetrics();
+        fixtureGenerator.configure()
+                .ignoreCyclicReferences()
+                .listen(metrics);
+
+        // When
+        fixtureGenerator.createDeterministic(TestClassWithCyclicCollection.class);
+        fixtureGenerator.createDeterministic(TestClassWithArrays.class);
+        GenerationMetrics.Snapshot snapshot = metrics.snapshot();
+
+        // Then
+        assertThat(snapshot.getTypes())
+                .filteredOn(type -> type.getType().is(TestClassWithCyclicCollection.class))
+                .singleElement()
+                .satisfies(type -> {
+                    assertThat(type.getValues()).isEqualTo(4);
+                    assertThat(type.getCyclicReferences()).isEqualTo(3);
+                    assertThat(type.getTotalNanos()).isPositive().isGreaterThanOrEqualTo(type.getMaxNanos());
+                });
+        assertThat(snapshot.getTypes())
+                .filteredOn(type -> type.getType().is(int.class))
+                .singleElement()
+                .satisfies(type -> {
+                    assertThat(type.getValues()).isEqualTo(3);
+                    assertThat(type.getTotalNanos()).isPositive();
+                    assertThat(type.getMaxNanos()).isZero();
+                });
+        assertThat(snapshot.getGenerators())
+                .filteredOn(generator -> generator.getGenerator() instanceof StringValueGenerator)
+                .singleElement()
+                .satisfies(generator -> {
+                    assertThat(generator.getInvocations()).isEqualTo(1);
+                    assertThat(generator.getTotalNanos()).isPositive().isEqualTo(generator.getMaxNanos());
+                });
+        assertThat(snapshot.generatorsToCsv())
+                .startsWith("generator,invocations,misses,totalNanos,maxNanos\n");
+        assertThat(snapshot.typesToCsv())
+                .startsWith("type,values,misses,totalNanos,maxNanos,cyclicReferences,ignoredNoValues\n")
+                .contains("\"java.util.List<" + TestClassWithCyclicCollection.class.getTypeName() + ">\",1,");
+    }
+
+    private static class TestClassWithLazyList {
+
+        List<Integer> list;
+
+    }
+
+    private interface TestLazyInterface {
+
+        String getValue();
+
+    }
+
+    private static class TestLazyImplementation implements TestLazyInterface {
+
+        private String value;
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+    }
+
+    private static class TestFailingLazyImplementation implements TestLazyInterface {
+
+        @Override
+        public String getValue() {
+            throw new IllegalStateException("Failing method");
+        }
+
+    }
+
+    private static class TestClassWithLazyInterface {
+
+        TestLazyInterface value;
+
+    }
+
+    private static class TestClassWithCyclicCollection {
+
+        List<TestClassWithCyclicCollection> children;
+        String stringField;
+
+    }
+
+    @Test
+    void shouldCreateCollectionsOfSizeWithinConfiguredRange() {
+        // Given
+        fixtureGenerator.configure()
+                .collectionSize(0, 10);
+
+        // When
+        List<TestClassWithCollections> result = fixtureGenerator.createDeterministic(TestClassWithCollections.class, 100);
+
+        // Then
+        assertThat(result).allSatisfy(item -> assertThat(item.list.size()).isBetween(0, 10));
+        assertThat(result).extracting(item -> item.list.size()).contains(0, 10);
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidCollectionSize() {
+        // When
+        Throwable throwable = catchException(() -> fixtureGenerator.configure().collectionSize(5, 4));
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'max' must not be less than 'min'");
+    }
+
     @Test
     void shouldCreateRandomized() {
         // Given
@@ -750,6 +1299,112 @@ class FixtureGeneratorTest {
         assertThat(values).hasSizeGreaterThan(1);
     }
 
+    @Test
+    void shouldCreateDeterministicList() {
+        // When
+        List<TestClassWithPrimitiveFields> result = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class, 10);
+
+        // Then
+        assertThat(result).hasSize(10);
+        assertThat(result.get(0)).usingRecursiveComparison()
+                .isEqualTo(fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class));
+        assertThat(result).extracting(item -> item.longField).doesNotHaveDuplicates();
+        assertThat(fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(result);
+    }
+
+    @Test
+    void shouldFillArrayDeterministically() {
+        // Given
+        Integer[] target = new Integer[5];
+
+        // When
+        Integer[] result = fixtureGenerator.fillDeterministic(Integer.class, target);
+
+        // Then
+        assertThat(result)
+                .isSameAs(target)
+                .containsExactlyElementsOf(fixtureGenerator.createDeterministic(Integer.class, 5));
+    }
+
+    @Test
+    void shouldCreateDeterministicAtIndex() {
+        // Given
+        List<TestClassWithPrimitiveFields> list = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class, 10);
+
+        // When
+        TestClassWithPrimitiveFields result = fixtureGenerator.createDeterministicAt(TestClassWithPrimitiveFields.class, 7);
+        List<TestClassWithPrimitiveFields> page = fixtureGenerator.createDeterministic(TestClassWithPrimitiveFields.class, 4, 6);
+
+        // Then
+        assertThat(result).usingRecursiveComparison().isEqualTo(list.get(7));
+        assertThat(page).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(list.subList(4, 10));
+    }
+
+    @Test
+    void shouldRejectIndexBeyondDeterministicSequence() {
+        // When
+        Integer last = fixtureGenerator.createDeterministicAt(Integer.class, (1L << 32) - 1);
+        Exception atIndex = catchException(() -> fixtureGenerator.createDeterministicAt(Integer.class, 1L << 32));
+        Exception page = catchException(() -> fixtureGenerator.createDeterministic(Integer.class, (1L << 32) - 1, 2));
+
+        // Then
+        assertThat(last).isEqualTo(fixtureGenerator.createDeterministic(Integer.class, (1L << 32) - 1, 1).get(0));
+        assertThat(atIndex)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'index' must be less than 4294967296, as the deterministic sequence consists of 4294967296 items");
+        assertThat(page)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'fromIndex' must be less than 4294967295, as the deterministic sequence consists of 4294967296 items");
+    }
+
+    @Test
+    void shouldCreateCollectionElementsIndependentlyUsingCounterBasedSeedScheme() {
+        // Given
+        fixtureGenerator.configure()
+                .seedScheme(SeedScheme.V3);
+
+        // When
+        TestClassWithCollections first = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithCollections second = fixtureGenerator.createDeterministic(TestClassWithCollections.class);
+        TestClassWithIntegerMap map = fixtureGenerator.createDeterministic(TestClassWithIntegerMap.class);
+
+        // Then
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        assertThat(first.list).hasSize(3).doesNotHaveDuplicates().isNotEqualTo(first.arrayList);
+        assertThat(map.map).hasSize(3);
+        assertThat(map.map.keySet()).doesNotContainAnyElementsOf(map.map.values());
+    }
+
+    private static class TestClassWithIntegerMap {
+
+        Map<Integer, Integer> map;
+
+    }
+
+    @Test
+    void shouldCreateRandomizedList() {
+        // When
+        List<Integer> result = fixtureGenerator.createRandomized(int.class, 10);
+
+        // Then
+        assertThat(result)
+                .hasSize(10)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldThrowExceptionForNegativeCount() {
+        // When
+        Exception exception = catchException(() -> fixtureGenerator.createDeterministic(int.class, -1));
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'count' must not be negative");
+    }
+
     @Test
     void shouldConfigureFluently() {
         // When
@@ -760,6 +1415,67 @@ class FixtureGeneratorTest {
         assertThat(result).isSameAs(fixtureGenerator);
     }
 
+    @Test
+    void shouldFreezeConfiguration() {
+        // Given
+        FixtureGenerator frozen = fixtureGenerator.configure()
+                .defineGenerator(long.class, valueContext -> 42L)
+                .freeze();
+
+        // When
+        fixtureGenerator.configure()
+                .defineGenerator(long.class, valueContext -> 43L);
+        Exception exception = catchException(frozen::configure);
+
+        // Then
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.freeze()).isSameAs(frozen);
+        assertThat(frozen.createDeterministic(long.class)).isEqualTo(42L);
+        assertThat(exception).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldCopyFrozenConfiguration() {
+        // Given
+        FixtureGenerator frozen = fixtureGenerator.configure()
+                .defineGenerator(long.class, valueContext -> 42L)
+                .freeze();
+
+        // When
+        FixtureGenerator copy = frozen.copy();
+        copy.configure()
+                .defineGenerator(int.class, valueContext -> 43);
+
+        // Then
+        assertThat(copy.isFrozen()).isFalse();
+        assertThat(copy.createDeterministic(long.class)).isEqualTo(42L);
+        assertThat(copy.createDeterministic(int.class)).isEqualTo(43);
+        assertThat(frozen.createDeterministic(int.class)).isNotEqualTo(43);
+    }
+
+    @Test
+    void shouldCreateDeterministicConcurrentlyUsingFrozenFixtureGenerator() throws Exception {
+        // Given
+        FixtureGenerator frozen = fixtureGenerator.freeze();
+        TestClassWithGenericMaps expected = fixtureGenerator.createDeterministic(TestClassWithGenericMaps.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            List<Future<TestClassWithGenericMaps>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> frozen.createDeterministic(TestClassWithGenericMaps.class)));
+            }
+
+            // Then
+            for (Future<TestClassWithGenericMaps> future : futures) {
+                assertThat(future.get()).usingRecursiveComparison().isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     void shouldHandleExceptions() {
         // Given
@@ -779,4 +1495,11 @@ class FixtureGeneratorTest {
                 .hasRootCauseMessage("Something went wrong");
     }
 
-}
\ No newline at end of file
+    private static class TestClassWithSimpleFields {
+
+        String stringField;
+        int intField;
+
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+class FixtureCorpusTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadRecordsInAnyOrder() throws IOException {
+        // Given
+        Path path = directory.resolve("corpus.bin");
+        List<TestClass> values = new ArrayList<>();
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(path)) {
+            for (int i = 0; i < 2000; i++) {
+                TestClass value = new TestClass(i);
+                values.add(value);
+                writer.write(value);
+            }
+        }
+
+        // When
+        try (FixtureCorpus<TestClass> corpus = FixtureCorpus.open(path, TestClass.class)) {
+
+            // Then
+            assertThat(corpus.size()).isEqualTo(2000);
+            for (int i : new int[]{1999, 0, 1000, 1}) {
+                assertThat(corpus.get(i)).usingRecursiveComparison().isEqualTo(values.get(i));
+                assertThat(corpus.get(i)).isNotSameAs(corpus.get(i));
+            }
+            assertThat(corpus.get(1).text).isEqualTo("text-1-zażółć");
+            assertThat(corpus.get(1).nested).isNull();
+            assertThat(catchException(() -> corpus.get(2000))).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        // Given
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[64]);
+
+        // When
+        Exception exception = catchException(() -> FixtureCorpus.open(path, TestClass.class));
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a fixture corpus file");
+    }
+
+    @Test
+    void shouldRejectRecordsBeyondMaximumFileSize() throws IOException {
+        // Given
+        Path unlimited = directory.resolve("unlimited.bin");
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(unlimited)) {
+            writer.write(new TestClass(1));
+        }
+        long size = Files.size(unlimited);
+        Path exact = directory.resolve("exact.bin");
+        Path tooSmall = directory.resolve("too-small.bin");
+        Path empty = directory.resolve("empty.bin");
+
+        // When
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(exact, size)) {
+            writer.write(new TestClass(1));
+        }
+        FixtureCorpusWriter tooSmallWriter = new FixtureCorpusWriter(tooSmall, size - 1);
+        tooSmallWriter.write(new TestClass(1));
+        Exception closeException = catchException(tooSmallWriter::close);
+        FixtureCorpusWriter emptyWriter = new FixtureCorpusWriter(empty, BinaryFormat.HEADER_SIZE + Long.BYTES);
+        Exception writeException = catchException(() -> emptyWriter.write(new TestClass(1)));
+        catchException(emptyWriter::close);
+
+        // Then
+        assertThat(Files.size(exact)).isEqualTo(size);
+        assertThat(closeException)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Fixture corpus files larger than 2 GiB are not supported");
+        assertThat(writeException)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Fixture corpus files larger than 2 GiB are not supported");
+        assertThat(Files.size(empty)).isZero();
+    }
+
+    @Test
+    void shouldRejectClassesWithoutConstructorWithoutParameters() throws IOException {
+        // Given
+        Path path = directory.resolve("corpus.bin");
+
+        // When
+        Exception exception;
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(path)) {
+            exception = catchException(() -> writer.write(new TestClassWithoutConstructorWithoutParameters("value")));
+        }
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(UnsupportedValueException.class)
+                .hasMessage("Values of class without a constructor without parameters cannot be encoded: " + TestClassWithoutConstructorWithoutParameters.class.getName());
+    }
+
+    @Test
+    void shouldNamePathToValueThatCannotBeWritten() throws IOException {
+        // Given
+        Path path = directory.resolve("corpus.bin");
+        TestClassWithList value = new TestClassWithList();
+        value.nested = new TestClassWithList();
+        value.nested.values.add(new TestClassWithList());
+        ((TestClassWithList) value.nested.values.get(0)).values.add(new TestClassWithoutConstructorWithoutParameters("value"));
+
+        // When
+        Exception exception;
+        try (FixtureCorpusWriter writer = new FixtureCorpusWriter(path)) {
+            exception = catchException(() -> writer.write(value));
+        }
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(UnsupportedValueException.class)
+                .hasMessage("Values of class without a constructor without parameters cannot be encoded: "
+                        + TestClassWithoutConstructorWithoutParameters.class.getName() + " at nested.values[].values[]");
+        assertThat(((UnsupportedValueException) exception).getPath()).isEqualTo("nested.values[].values[]");
+    }
+
+    private static class TestClassWithList {
+
+        final List<Object> values = new ArrayList<>();
+        TestClassWithList nested;
+
+    }
+
+    private static class TestClassWithoutConstructorWithoutParameters {
+
+        final String value;
+
+        TestClassWithoutConstructorWithoutParameters(String value) {
+            this.value = value;
+        }
+
+    }
+
+    private static class ParentClass {
+
+        String parentField = "parent";
+
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static class TestClass extends ParentClass {
+
+        final String text;
+        final long[] numbers;
+        final List<String> list;
+        final Map<TestEnum, LocalDate> map = new LinkedHashMap<>();
+        final Optional<Double> optional;
+        final TestClass nested;
+
+        private TestClass() {
+            this(0, null);
+        }
+
+        TestClass(int index) {
+            this(index, index % 2 == 0 ? new TestClass(-index, null) : null);
+        }
+
+        TestClass(int index, TestClass nested) {
+            this.text = "text-" + index + (index % 2 == 0 ? "" : "-zażółć");
+            this.numbers = new long[]{index, (long) index << 40};
+            this.list = new ArrayList<>(Arrays.asList("a" + index, null));
+            this.map.put(TestEnum.values()[Math.abs(index) % 2], LocalDate.ofEpochDay(index));
+            this.optional = index % 3 == 0 ? Optional.empty() : Optional.of(index / 3.0);
+            this.nested = nested;
+        }
+
+    }
+
+    private enum TestEnum {
+        VALUE1, VALUE2
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+class JsonLinesWriterTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    void shouldWriteObjectsFieldByField() throws IOException {
+        // Given
+        TestClass value = new TestClass();
+        value.text = "a\"b\\c\n\u0001ż";
+        value.number = 42;
+        value.nan = Double.NaN;
+        value.list = Arrays.asList(1, null, 3);
+        value.map = new LinkedHashMap<>();
+        value.map.put(TestEnum.VALUE, new long[]{1L, 2L});
+        value.optional = Optional.empty();
+        value.uuid = new UUID(1, 2);
+        value.date = new Date(1000L);
+        value.localDate = LocalDate.of(2020, 1, 2);
+        value.enumField = TestEnum.VALUE;
+        value.flag = true;
+        value.parentField = "parent";
+
+        // When
+        try (JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(out))) {
+            writer.write(value);
+            writer.write(null);
+        }
+
+        // Then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+                "{\"text\":\"a\\\"b\\\\c\\n\\u0001ż\",\"number\":42,\"nan\":\"NaN\",\"list\":[1,null,3]," +
+                        "\"map\":{\"VALUE\":[1,2]},\"optional\":null,\"uuid\":\"00000000-0000-0001-0000-000000000002\"," +
+                        "\"date\":1000,\"localDate\":\"2020-01-02\",\"enumField\":\"VALUE\",\"flag\":true," +
+                        "\"parentField\":\"parent\"}\n" +
+                        "null\n");
+    }
+
+    @Test
+    void shouldWriteMoreThanBufferSize() throws IOException {
+        // Given
+        char[] chars = new char[100_000];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+
+        // When
+        JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(out));
+        writer.write(value);
+        writer.write(value);
+        writer.flush();
+
+        // Then
+        assertThat(out.size()).isEqualTo(2 * (value.length() + 3));
+    }
+
+    @Test
+    void shouldRejectObjectsWithCyclicReferences() throws IOException {
+        // Given
+        TestNode node = new TestNode();
+        node.children.add(new TestNode());
+        node.children.get(0).children.add(node);
+
+        // When
+        Exception exception;
+        try (JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(out))) {
+            exception = catchException(() -> writer.write(node));
+            writer.write(new TestNode());
+        }
+
+        // Then
+        assertThat(exception)
+                .isInstanceOf(UnsupportedValueException.class)
+                .hasMessage("Values with cyclic references cannot be written: " + TestNode.class.getName() + " at children[].children[]");
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("{\"children\":[]}\n");
+    }
+
+    @Test
+    void shouldQualifyNamesOfHiddenFields() throws IOException {
+        // Given
+        TestClassHidingField value = new TestClassHidingField();
+        value.parentField = 1;
+        ((ParentClass) value).parentField = "parent";
+
+        // When
+        try (JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(out))) {
+            writer.write(value);
+        }
+
+        // Then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"parentField\":1,\"ParentClass.parentField\":\"parent\"}\n");
+    }
+
+    @Test
+    void shouldEscapeLoneSurrogates() throws IOException {
+        // Given
+        String value = "\uD83D\uDE00 \uD83D \uDE00";
+
+        // When
+        try (JsonLinesWriter writer = new JsonLinesWriter(Channels.newChannel(out))) {
+            writer.write(value);
+        }
+
+        // Then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("\"\uD83D\uDE00 \\ud83d \\ude00\"\n");
+    }
+
+    private static class ParentClass {
+
+        String parentField;
+
+    }
+
+    private static class TestClassHidingField extends ParentClass {
+
+        int parentField;
+
+    }
+
+    private static class TestNode {
+
+        final List<TestNode> children = new ArrayList<>();
+
+    }
+
+    private static class TestClass extends ParentClass {
+
+        static String ignored = "ignored";
+
+        String text;
+        int number;
+        double nan;
+        List<Integer> list;
+        Map<TestEnum, long[]> map;
+        Optional<String> optional;
+        UUID uuid;
+        Date date;
+        LocalDate localDate;
+        TestEnum enumField;
+        boolean flag;
+
+    }
+
+    private enum TestEnum {
+        VALUE
+    }
+
+}
@@ -23,6 +23,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 class ClassInspectorTest {
 
@@ -57,6 +59,37 @@ class ClassInspectorTest {
         String stringField;
     }
 
+    @Test
+    void shouldSetValuesOfFields() {
+        // Given
+        Map<String, FieldInformation> fields = toMap(classInspector.listFieldsFor(typeInformation(ClassWithInheritance.class)));
+        ClassWithInheritance target = new ClassWithInheritance();
+
+        // When
+        fields.get("booleanField").getSetter().accept(target, true);
+        fields.get("stringField").getSetter().accept(target, "value");
+        fields.get("intField").getSetter().accept(target, 42);
+
+        // Then
+        assertThat(target.booleanField).isTrue();
+        assertThat(target.stringField).isEqualTo("value");
+        assertThat(target.intField).isEqualTo(42);
+    }
+
+    @Test
+    void shouldThrowExceptionForValueOfIncompatibleType() {
+        // Given
+        Map<String, FieldInformation> fields = toMap(classInspector.listFieldsFor(typeInformation(SimpleClass.class)));
+
+        // When
+        Throwable throwable = catchThrowable(() -> fields.get("booleanField").getSetter().accept(new SimpleClass(), "value"));
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(UnableToSetFieldException.class)
+                .hasCauseInstanceOf(ClassCastException.class);
+    }
+
     @Test
     void shouldIgnoreStaticFields() {
         // When
@@ -204,6 +237,44 @@ class ClassInspectorTest {
         assertThat(instance).isInstanceOf(ClassWithDefaultConstructor.class);
     }
 
+    @Test
+    void shouldCreateInstanceUsingConstructorInformation() throws Exception {
+        // Given
+        ConstructorInformation constructorInformation = classInspector.listConstructorsFor(typeInformation(ClassWithoutDefaultConstructor.class)).get(0);
+
+        // When
+        Object instance = constructorInformation.newInstance(new Object[]{42, "value", null});
+
+        // Then
+        assertThat(instance).isInstanceOf(ClassWithoutDefaultConstructor.class);
+        ClassWithoutDefaultConstructor result = (ClassWithoutDefaultConstructor) instance;
+        assertThat(result.intField).isEqualTo(42);
+        assertThat(result.stringField).isEqualTo("value");
+        assertThat(result.setField).isNull();
+    }
+
+    @Test
+    void shouldWrapExceptionThrownByConstructor() {
+        // Given
+        ConstructorInformation constructorInformation = classInspector.listConstructorsFor(typeInformation(ClassWithThrowingConstructor.class)).get(0);
+
+        // When
+        Throwable throwable = catchThrowable(() -> constructorInformation.newInstance(new Object[0]));
+
+        // Then
+        assertThat(throwable)
+                .isInstanceOf(InvocationTargetException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Not supported");
+    }
+
+    private static class ClassWithThrowingConstructor {
+        private ClassWithThrowingConstructor() {
+            throw new IllegalStateException("Not supported");
+        }
+    }
+
     private static class ClassWithDefaultConstructor {
         int intField;
     }
@@ -250,6 +321,36 @@ class ClassInspectorTest {
         }
     }
 
+    @Test
+    void shouldCacheClassMetadata() {
+        // Given
+        classInspector.listFieldsFor(typeInformation(SimpleClass.class));
+        classInspector.listConstructorsFor(typeInformation(SimpleClass.class));
+
+        // When
+        List<FieldInformation> fields = classInspector.listFieldsFor(typeInformation(SimpleClass.class));
+        List<ConstructorInformation> constructors = classInspector.listConstructorsFor(typeInformation(SimpleClass.class));
+
+        // Then
+        assertThat(fields).isSameAs(classInspector.listFieldsFor(typeInformation(SimpleClass.class)));
+        assertThat(constructors).isSameAs(classInspector.listConstructorsFor(typeInformation(SimpleClass.class)));
+        assertThat(classInspector.getStatistics().getMissCount()).isEqualTo(2);
+        assertThat(classInspector.getStatistics().getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldCacheClassMetadataSeparatelyForEachTypeParameter() {
+        // When
+        List<FieldInformation> integerFields = classInspector.listFieldsFor(typeInformation(GenericClass.class, typeInformation(Integer.class)));
+        List<FieldInformation> stringFields = classInspector.listFieldsFor(typeInformation(GenericClass.class, typeInformation(String.class)));
+
+        // Then
+        assertThat(toMap(integerFields).get("field").getType()).isEqualTo(typeInformation(Integer.class));
+        assertThat(toMap(stringFields).get("field").getType()).isEqualTo(typeInformation(String.class));
+        assertThat(classInspector.getStatistics().getMissCount()).isEqualTo(2);
+        assertThat(classInspector.getStatistics().getHitCount()).isZero();
+    }
+
     private static Map<String, FieldInformation> toMap(Collection<FieldInformation> set) {
         return Maps.uniqueIndex(set, FieldInformation::getName);
     }
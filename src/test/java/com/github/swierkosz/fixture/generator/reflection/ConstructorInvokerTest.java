@@ -0,0 +1,82 @@
+package com.github.swierkosz.fixture.generator.reflection;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+class ConstructorInvokerTest {
+
+    @Test
+    void shouldCreateInstanceWithGivenArguments() throws Exception {
+        // Given
+        ConstructorInvoker invoker = new ConstructorInvoker(TestClass.class.getDeclaredConstructor(String.class, int.class));
+
+        // When
+        Object result = invoker.newInstance(new Object[]{"value", 1});
+
+        // Then
+        assertThat(result).isInstanceOf(TestClass.class);
+        assertThat(((TestClass) result).text).isEqualTo("value");
+    }
+
+    @Test
+    void shouldWrapEverythingThrownByConstructor() throws Exception {
+        // Given
+        ConstructorInvoker invoker = new ConstructorInvoker(TestClass.class.getDeclaredConstructor(String.class, int.class));
+
+        // When
+        Exception runtimeException = catchException(() -> invoker.newInstance(new Object[]{"runtime", 1}));
+        Exception checkedException = catchException(() -> invoker.newInstance(new Object[]{"checked", 1}));
+        Exception error = catchException(() -> invoker.newInstance(new Object[]{"error", 1}));
+
+        // Then
+        assertThat(runtimeException)
+                .isInstanceOf(InvocationTargetException.class)
+                .cause().isInstanceOf(IllegalStateException.class);
+        assertThat(checkedException)
+                .isInstanceOf(InvocationTargetException.class)
+                .cause().isInstanceOf(IOException.class);
+        assertThat(error)
+                .isInstanceOf(InvocationTargetException.class)
+                .cause().isInstanceOf(NoClassDefFoundError.class);
+    }
+
+    private static class TestClass {
+
+        final String text;
+
+        TestClass(String text, int number) throws IOException {
+            switch (text) {
+                case "runtime":
+                    throw new IllegalStateException(text);
+                case "checked":
+                    throw new IOException(text);
+                case "error":
+                    throw new NoClassDefFoundError(text);
+                default:
+                    this.text = text;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.swierkosz.fixture.generator.reflection;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeInternerTest {
+
+    @Test
+    void shouldReturnSameInstanceForEqualTypes() {
+        // When
+        TypeInformationImpl first = TypeInterner.intern(Map.class, Arrays.asList(
+                new TypeInformationImpl(String.class),
+                new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(Integer.class)))));
+        TypeInformationImpl second = TypeInterner.intern(Map.class, Arrays.asList(
+                TypeInterner.intern(String.class),
+                TypeInterner.intern(List.class, singletonList(TypeInterner.intern(Integer.class)))));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getId()).isNotEqualTo(TypeInformationImpl.NOT_INTERNED);
+        assertThat(first.getTypeParameters().get(1)).isSameAs(TypeInterner.intern(List.class, singletonList(TypeInterner.intern(Integer.class))));
+    }
+
+    @Test
+    void shouldAssignDistinctIdsToDistinctTypes() {
+        // When
+        TypeInformationImpl listOfStrings = TypeInterner.intern(List.class, singletonList(TypeInterner.intern(String.class)));
+        TypeInformationImpl listOfIntegers = TypeInterner.intern(List.class, singletonList(TypeInterner.intern(Integer.class)));
+        TypeInformationImpl rawList = TypeInterner.intern(List.class);
+
+        // Then
+        assertThat(listOfStrings).isNotEqualTo(listOfIntegers).isNotEqualTo(rawList);
+        assertThat(listOfStrings.getId()).isNotEqualTo(listOfIntegers.getId()).isNotEqualTo(rawList.getId());
+    }
+
+    @Test
+    void shouldBeEqualToStructurallyEqualTypeCreatedDirectly() {
+        // Given
+        TypeInformation created = new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(String.class)));
+
+        // When
+        TypeInformationImpl interned = TypeInterner.intern(created);
+
+        // Then
+        assertThat(interned).isEqualTo(created).hasSameHashCodeAs(created);
+        assertThat(created).isEqualTo(interned);
+        assertThat(((TypeInformationImpl) created).getId()).isEqualTo(TypeInformationImpl.NOT_INTERNED);
+        assertThat(TypeInterner.intern(interned)).isSameAs(interned);
+    }
+
+    @Test
+    void shouldInternTypesOfClassesLoadedByRelatedClassLoaders() throws Exception {
+        // Given
+        Class<?> isolatedClass = loadIsolated(IsolatedClass.class);
+
+        // When
+        TypeInformationImpl first = TypeInterner.intern(Map.class, Arrays.asList(TypeInterner.intern(String.class), TypeInterner.intern(isolatedClass)));
+        TypeInformationImpl second = TypeInterner.intern(Map.class, Arrays.asList(TypeInterner.intern(String.class), TypeInterner.intern(isolatedClass)));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getId()).isNotEqualTo(TypeInformationImpl.NOT_INTERNED);
+    }
+
+    @Test
+    void shouldNotInternTypesOfClassesLoadedByUnrelatedClassLoaders() throws Exception {
+        // Given
+        Class<?> firstClass = loadIsolated(IsolatedClass.class);
+        Class<?> secondClass = loadIsolated(IsolatedClass.class);
+
+        // When
+        TypeInformationImpl result = TypeInterner.intern(Map.class, Arrays.asList(TypeInterner.intern(firstClass), TypeInterner.intern(secondClass)));
+
+        // Then
+        assertThat(result.getId()).isEqualTo(TypeInformationImpl.NOT_INTERNED);
+        assertThat(result).isEqualTo(new TypeInformationImpl(Map.class, Arrays.asList(new TypeInformationImpl(firstClass), new TypeInformationImpl(secondClass))));
+    }
+
+    private static Class<?> loadIsolated(Class<?> type) throws Exception {
+        URL location = type.getProtectionDomain().getCodeSource().getLocation();
+        return Class.forName(type.getName(), false, new URLClassLoader(new URL[]{location}, null));
+    }
+
+    private static class IsolatedClass {
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.github.swierkosz.fixture.generator.transformers;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransformerPipelineTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void shouldApplyMatchingTransformersInRegistrationOrder() {
+        // Given
+        TransformerPipeline pipeline = new TransformerPipeline(Arrays.asList(
+                new TypedTransformer<>(String.class, value -> value + "-a"),
+                new UntypedInterceptor(value -> calls.add("untyped " + value)),
+                new TypedInterceptor<>(Integer.class, value -> calls.add("integer " + value)),
+                new TypedTransformer<>(String.class, value -> value + "-b")));
+
+        // When
+        Object result = pipeline.apply("value");
+
+        // Then
+        assertThat(result).isEqualTo("value-a-b");
+        assertThat(calls).containsExactly("untyped value-a");
+        assertThat(pipeline.transforms(String.class)).isTrue();
+        assertThat(pipeline.transforms(Integer.class)).isTrue();
+    }
+
+    @Test
+    void shouldSkipValuesWithoutMatchingTransformers() {
+        // Given
+        TransformerPipeline pipeline = new TransformerPipeline(Arrays.asList(
+                new TypedTransformer<>(String.class, value -> value + "-a"),
+                new TypedInterceptor<>(Integer.class, value -> calls.add("integer " + value))));
+
+        // When
+        Object result = pipeline.apply(42L);
+
+        // Then
+        assertThat(result).isEqualTo(42L);
+        assertThat(calls).isEmpty();
+        assertThat(pipeline.transforms(Long.class)).isFalse();
+    }
+
+    @Test
+    void shouldApplySubclassesOverridingApplyToAllValues() {
+        // Given
+        TransformerPipeline pipeline = new TransformerPipeline(Arrays.asList(
+                new TypedTransformer<>(String.class, value -> value + "-a"),
+                new TestTransformer()));
+
+        // When
+        Object string = pipeline.apply("value");
+        Object number = pipeline.apply(42L);
+        Object nothing = pipeline.apply(null);
+
+        // Then
+        assertThat(string).isEqualTo("value-a!");
+        assertThat(number).isEqualTo("42!");
+        assertThat(nothing).isEqualTo("null!");
+        assertThat(pipeline.transforms(Long.class)).isTrue();
+    }
+
+    @Test
+    void shouldApplyTransformersOfNewClassWhenClassOfValueChanges() {
+        // Given
+        Function<Object, Object> length = value -> value instanceof String ? ((String) value).length() : value;
+        TransformerPipeline pipeline = new TransformerPipeline(Arrays.asList(
+                new TypedTransformer<>(String.class, value -> value + "-a"),
+                length,
+                new TypedTransformer<>(String.class, value -> value + "-b"),
+                new TypedTransformer<>(Integer.class, value -> value * 10)));
+
+        // When
+        Object result = pipeline.apply("value");
+
+        // Then
+        assertThat(result).isEqualTo(70);
+    }
+
+    @Test
+    void shouldApplyOnlyUntypedTransformersToNullValues() {
+        // Given
+        Function<Object, Object> replaceNull = value -> value == null ? "replaced" : value;
+        TransformerPipeline pipeline = new TransformerPipeline(Arrays.asList(
+                new TypedInterceptor<>(String.class, value -> calls.add("string " + value)),
+                replaceNull,
+                new TypedInterceptor<>(String.class, value -> calls.add("string " + value))));
+
+        // When
+        Object result = pipeline.apply(null);
+
+        // Then
+        assertThat(result).isEqualTo("replaced");
+        assertThat(calls).containsExactly("string replaced");
+    }
+
+    private static class TestTransformer extends TypedTransformer<String, String> {
+
+        TestTransformer() {
+            super(String.class, value -> value);
+        }
+
+        @Override
+        public Object apply(Object value) {
+            return value + "!";
+        }
+
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -130,4 +131,49 @@ class ExtendedRandomTest {
         assertThat(results).hasSize(21);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldProduceSameSequencesAsJavaUtilRandom() {
+        // Given
+        ExtendedRandom random = new ExtendedRandom(42);
+        Random expected = new Random(42);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(random.nextInt()).isEqualTo(expected.nextInt());
+            assertThat(random.nextInt(i + 1)).isEqualTo(expected.nextInt(i + 1));
+            assertThat(random.nextLong()).isEqualTo(expected.nextLong());
+            assertThat(random.nextDouble()).isEqualTo(expected.nextDouble());
+            assertThat(random.nextGaussian()).isEqualTo(expected.nextGaussian());
+            assertThat(random.nextBoolean()).isEqualTo(expected.nextBoolean());
+        }
+    }
+
+    @Test
+    void shouldRestartSequenceWhenSeedIsSet() {
+        // Given
+        ExtendedRandom random = new ExtendedRandom(42);
+        long first = random.nextLong();
+        random.nextGaussian();
+
+        // When
+        random.setSeed(42);
+
+        // Then
+        assertThat(random.nextLong()).isEqualTo(first);
+        assertThat(random.nextGaussian()).isEqualTo(new Random(42) {{ nextLong(); }}.nextGaussian());
+    }
+
+    @Test
+    void shouldProduceRepeatableSequencesUsingSplitMix() {
+        // Given
+        SplitMixRandom random = new SplitMixRandom(42);
+        SplitMixRandom other = new SplitMixRandom(42);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(random.nextLong()).isEqualTo(other.nextLong());
+            assertThat(random.randomInt(-5, 5)).isBetween(-5, 5).isEqualTo(other.randomInt(-5, 5));
+        }
+        assertThat(new SplitMixRandom(43).nextLong()).isNotEqualTo(new SplitMixRandom(42).nextLong());
+    }
+}
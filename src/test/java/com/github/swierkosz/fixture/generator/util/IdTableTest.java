@@ -0,0 +1,79 @@
+package com.github.swierkosz.fixture.generator.util;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class IdTableTest {
+
+    private final IdTable<Integer> idTable = new IdTable<>();
+
+    @Test
+    void shouldKeepValuesStoredConcurrentlyWithGrowing() throws InterruptedException {
+        // Given
+        int threadCount = 4;
+        int idCount = IdTable.MAX_CAPACITY;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            int offset = i;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int id = offset; id < idCount; id += threadCount) {
+                    idTable.put(id, id);
+                }
+            }));
+        }
+
+        // When
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        for (int id = 0; id < idCount; id++) {
+            assertThat(idTable.get(id)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void shouldNotAcceptIdsBeyondMaximalCapacity() {
+        // When
+        Throwable throwable = catchThrowable(() -> idTable.put(IdTable.MAX_CAPACITY, 1));
+
+        // Then
+        assertThat(idTable.accepts(IdTable.MAX_CAPACITY - 1)).isTrue();
+        assertThat(idTable.accepts(IdTable.MAX_CAPACITY)).isFalse();
+        assertThat(idTable.accepts(-1)).isFalse();
+        assertThat(throwable).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(idTable.get(IdTable.MAX_CAPACITY)).isNull();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the variant of events the build puts in front: the Java 8 one, in which hooks do nothing,
+ * or the Java 11 one, which emits Java Flight Recorder events.
+ */
+class GenerationEventsVariantTest {
+
+    @Test
+    void shouldGenerateValuesUsingVariantOfEventsUnderTest() {
+        // Given
+        boolean java11Variant = "11".equals(System.getProperty("fixture.events.variant", "8"));
+        FixtureGenerator fixtureGenerator = new FixtureGenerator();
+        fixtureGenerator.configure()
+                .transform(value -> value);
+
+        // When
+        TestClass result = fixtureGenerator.createDeterministic(TestClass.class);
+
+        // Then
+        assertThat(GenerationEvents.class.getDeclaredClasses().length > 0).isEqualTo(java11Variant);
+        assertThat(result.items).isNotEmpty().doesNotContainNull();
+        assertThat(result.name).isNotNull();
+    }
+
+    private static class TestClass {
+
+        private String name;
+        private List<TestItem> items;
+
+        private TestClass(String name) {
+            throw new IllegalStateException("Failing constructor");
+        }
+
+        private TestClass() {
+        }
+
+    }
+
+    private static class TestItem {
+
+        private int value;
+
+    }
+
+}
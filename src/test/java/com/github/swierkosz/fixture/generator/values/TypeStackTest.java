@@ -0,0 +1,96 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2024 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.TypeInformation;
+import com.github.swierkosz.fixture.generator.reflection.TypeInformationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeStackTest {
+
+    private final TypeStack typeStack = new TypeStack();
+
+    @Test
+    void shouldRejectTypeAlreadyUnderConstruction() {
+        // Given
+        typeStack.push(new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(String.class))), null, false);
+
+        // When
+        boolean equalType = typeStack.push(new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(String.class))), null, false);
+        boolean differentTypeParameter = typeStack.push(new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(Integer.class))), null, false);
+
+        // Then
+        assertThat(equalType).isFalse();
+        assertThat(differentTypeParameter).isTrue();
+    }
+
+    @Test
+    void shouldAcceptTypeAgainAfterPop() {
+        // Given
+        TypeInformation type = new TypeInformationImpl(String.class);
+        typeStack.push(type, null, false);
+        typeStack.pop();
+
+        // When
+        boolean result = typeStack.push(type, null, false);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        // Given
+        List<TypeInformation> types = new ArrayList<>();
+        TypeInformation type = new TypeInformationImpl(Object.class);
+        for (int i = 0; i < 100; i++) {
+            type = new TypeInformationImpl(List.class, singletonList(type));
+            types.add(type);
+        }
+
+        // When
+        for (TypeInformation item : types) {
+            assertThat(typeStack.push(item, null, false)).isTrue();
+        }
+
+        // Then
+        assertThat(typeStack.toList()).containsExactlyElementsOf(types);
+        assertThat(typeStack.push(types.get(42), null, false)).isFalse();
+    }
+
+    @Test
+    void shouldJoinFieldNamesIntoPath() {
+        // Given
+        typeStack.push(new TypeInformationImpl(Object.class), null, false);
+        typeStack.push(new TypeInformationImpl(List.class, singletonList(new TypeInformationImpl(Number.class))), "items", false);
+        typeStack.push(new TypeInformationImpl(Number.class), "items", true);
+        typeStack.push(new TypeInformationImpl(String.class), "name", false);
+
+        // When
+        String path = typeStack.getPath();
+
+        // Then
+        assertThat(path).isEqualTo("items[].name");
+        assertThat(typeStack.size()).isEqualTo(4);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.github.swierkosz.fixture.generator.values;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class GenerationEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecordEventsWithTheirFields() throws IOException {
+        // Given
+        FixtureGenerator fixtureGenerator = new FixtureGenerator();
+        fixtureGenerator.configure()
+                .transform(value -> value);
+        Path path = directory.resolve("recording.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("fixture.Fixture").withThreshold(Duration.ZERO);
+            recording.enable("fixture.Construction").withThreshold(Duration.ZERO);
+            recording.enable("fixture.ConstructorFallback").withThreshold(Duration.ZERO);
+            recording.enable("fixture.Transformation").withThreshold(Duration.ZERO);
+            recording.start();
+            fixtureGenerator.createDeterministic(TestClassWithItems.class);
+            recording.stop();
+            recording.dump(path);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+
+        // Then
+        assertThat(eventsNamed(events, "fixture.Fixture"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("type")).isEqualTo(TestClassWithItems.class.getTypeName());
+                    assertThat(event.getLong("seed")).isZero();
+                });
+        assertThat(eventsNamed(events, "fixture.Construction"))
+                .filteredOn(event -> event.getString("type").equals("java.lang.String"))
+                .extracting(event -> event.getString("fieldPath"), event -> event.getInt("depth"))
+                .contains(tuple("items[].name", 4));
+        assertThat(eventsNamed(events, "fixture.Construction"))
+                .filteredOn(event -> event.getString("fieldPath").equals("items"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getString("type"))
+                        .isEqualTo("java.util.List<" + TestItem.class.getTypeName() + ">"));
+        assertThat(eventsNamed(events, "fixture.ConstructorFallback"))
+                .hasSize(3)
+                .allSatisfy(event -> {
+                    assertThat(event.getString("type")).isEqualTo(TestItem.class.getTypeName());
+                    assertThat(event.getString("constructor")).isEqualTo("()");
+                    assertThat(event.getString("failure")).isEqualTo("java.lang.IllegalStateException: Failing constructor");
+                });
+        assertThat(eventsNamed(events, "fixture.Transformation"))
+                .extracting(event -> event.getClass("valueClass").getName())
+                .contains(TestClassWithItems.class.getName(), TestItem.class.getName());
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static class TestClassWithItems {
+
+        List<TestItem> items;
+
+    }
+
+    private static class TestItem {
+
+        String name;
+
+        TestItem() {
+            throw new IllegalStateException("Failing constructor");
+        }
+
+        TestItem(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.swierkosz.fixture.generator.io;
+/*
+ *    Copyright 2020 Szymon Świerkosz
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+import com.github.swierkosz.fixture.generator.FixtureGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureCorpusRecordTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadRecordsBackUsingCanonicalConstructor() throws IOException {
+        // Given
+        FixtureGenerator fixtureGenerator = new FixtureGenerator();
+        Path path = directory.resolve("corpus.bin");
+        List<PointHolder> expected = fixtureGenerator.createDeterministic(PointHolder.class, 0, 3);
+
+        // When
+        fixtureGenerator.writeDeterministicCorpus(PointHolder.class, 0, 3, path);
+
+        // Then
+        try (FixtureCorpus<PointHolder> corpus = FixtureCorpus.open(path, PointHolder.class)) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(corpus.get(i).point).isEqualTo(expected.get(i).point);
+                assertThat(corpus.get(i).points).isEqualTo(expected.get(i).points);
+            }
+        }
+    }
+
+    private static class PointHolder {
+
+        Point point;
+        List<Point> points;
+
+    }
+
+    private record Point(int x, String label) {
+    }
+
+}